@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Compares throughput and latency of the rewards API on platform threads and
+# on virtual threads (spring.threads.virtual.enabled) under the same load.
+#
+# For each mode the application is started with the loadtest profile, which
+# generates the same synthetic customers from a fixed seed, and is then hit by
+# CONCURRENCY clients running a mixed read/write workload. Everything runs on
+# localhost.
+#
+# Build first with:   ./mvnw package -DskipTests
+# Usage:              scripts/compare-thread-models.sh
+#
+# Environment: CONCURRENCY [10000], DURATION [60], WARMUP [15], CUSTOMERS [1000],
+#              WRITE_RATIO [0.1], PAGE_RATIO [0.2], PORT [18080]
+
+set -euo pipefail
+
+CONCURRENCY="${CONCURRENCY:-10000}"
+DURATION="${DURATION:-60}"
+WARMUP="${WARMUP:-15}"
+CUSTOMERS="${CUSTOMERS:-1000}"
+WRITE_RATIO="${WRITE_RATIO:-0.1}"
+PAGE_RATIO="${PAGE_RATIO:-0.2}"
+PORT="${PORT:-18080}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="${ROOT_DIR}/target/${JAR_NAME:-rewards-api-0.0.1-SNAPSHOT}.jar"
+
+# Every client holds a socket on both sides of the connection
+ulimit -n 65536 2> /dev/null || echo "Could not raise the open file limit; 10k clients may fail" >&2
+
+for mode in platform virtual; do
+    virtual=false
+    [[ "${mode}" == "virtual" ]] && virtual=true
+
+    java -jar "${JAR}" --spring.profiles.active=loadtest --spring.threads.virtual.enabled="${virtual}" \
+        --rewards.loadtest.customers="${CUSTOMERS}" --server.port="${PORT}" > /dev/null 2>&1 &
+    pid=$!
+    # Liveness comes up before the synthetic customers are loaded; readiness
+    # waits for the loader to finish
+    until curl -sf "http://localhost:${PORT}/actuator/health/readiness" > /dev/null; do
+        kill -0 "${pid}" 2> /dev/null || { echo "Application exited before becoming ready" >&2; exit 1; }
+        sleep 0.2
+    done
+
+    echo "=== ${mode} threads ==="
+    java -cp "${ROOT_DIR}/target/test-classes" com.rewards.load.LoadDriver \
+        --url="http://localhost:${PORT}" --customers="${CUSTOMERS}" --concurrency="${CONCURRENCY}" \
+        --duration-seconds="${DURATION}" --warmup-seconds="${WARMUP}" \
+        --write-ratio="${WRITE_RATIO}" --page-ratio="${PAGE_RATIO}"
+
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+done
@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Measures cold-start time and resident memory (RSS) of the rewards API.
+#
+# Each mode is started RUNS times. Startup time is measured from launching the
+# JVM until /actuator/health answers; RSS is read from /proc once the
+# application has been idle for a moment. Linux only.
+#
+# Modes:
+#   default   fat jar, default profile
+#   prod      thin jar, prod profile (lazy init, trimmed auto-configuration)
+#   prod-cds  thin jar, prod profile, AppCDS archive
+#
+# Build first with:   ./mvnw -Pcds package -DskipTests
+# Usage:              scripts/measure-startup.sh [runs]
+#
+# Set MAX_STARTUP_MS to fail when the median startup of prod-cds exceeds it.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+IDLE_SECONDS="${IDLE_SECONDS:-2}"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR_NAME="${JAR_NAME:-rewards-api-0.0.1-SNAPSHOT}"
+CDS_DIR="${TARGET_DIR}/cds"
+
+# Starts the application in the background and sets APP_PID
+start_app() {
+    local mode="$1"
+    case "${mode}" in
+        default)
+            ( cd "${TARGET_DIR}" && exec java -jar "${JAR_NAME}.jar" --server.port="${PORT}" ) > /dev/null 2>&1 &
+            ;;
+        prod)
+            ( cd "${CDS_DIR}" && exec java -Dspring.profiles.active=prod \
+                -jar "${JAR_NAME}-cds.jar" --server.port="${PORT}" ) > /dev/null 2>&1 &
+            ;;
+        prod-cds)
+            ( cd "${CDS_DIR}" && exec java -XX:SharedArchiveFile=rewards-api.jsa -Dspring.profiles.active=prod \
+                -jar "${JAR_NAME}-cds.jar" --server.port="${PORT}" ) > /dev/null 2>&1 &
+            ;;
+    esac
+    APP_PID=$!
+}
+
+wait_until_ready() {
+    local pid="$1"
+    until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "Application exited before becoming ready" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf "%-10s %14s %14s\n" "mode" "startup (ms)" "rss (MB)"
+for mode in default prod prod-cds; do
+    startup_samples=""
+    rss_samples=""
+    for ((run = 1; run <= RUNS; run++)); do
+        begin=$(date +%s%N)
+        start_app "${mode}"
+        pid="${APP_PID}"
+        wait_until_ready "${pid}"
+        end=$(date +%s%N)
+        sleep "${IDLE_SECONDS}"
+        rss_kb=$(awk '/VmRSS/ { print $2 }' "/proc/${pid}/status")
+        kill "${pid}"
+        wait "${pid}" 2> /dev/null || true
+
+        startup_samples+="$(( (end - begin) / 1000000 ))"$'\n'
+        rss_samples+="$(( rss_kb / 1024 ))"$'\n'
+    done
+    startup_median=$(printf "%s" "${startup_samples}" | median)
+    rss_median=$(printf "%s" "${rss_samples}" | median)
+    printf "%-10s %14s %14s\n" "${mode}" "${startup_median}" "${rss_median}"
+done
+
+if [[ -n "${MAX_STARTUP_MS:-}" && "${startup_median}" -gt "${MAX_STARTUP_MS}" ]]; then
+    echo "prod-cds median startup ${startup_median} ms exceeds MAX_STARTUP_MS=${MAX_STARTUP_MS}" >&2
+    exit 1
+fi
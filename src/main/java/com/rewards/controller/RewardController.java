@@ -1,6 +1,8 @@
 package com.rewards.controller;
 
+import com.rewards.config.WireFormatConfig;
 import com.rewards.dto.RewardResponse;
+import com.rewards.dto.TransactionPage;
 import com.rewards.model.Customer;
 import com.rewards.model.Transaction;
 import com.rewards.service.RewardService;
@@ -8,9 +10,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Validated
 @RestController
@@ -29,9 +33,9 @@ public class RewardController {
      */
     @PostMapping("/customers")
     public ResponseEntity<Customer> addCustomer(@Valid @RequestBody Customer customer) {
-        log.info("Received request to add new customer: {}", customer.getCustomerName());
+        log.info("Received request to add new customer: {}", customer.customerName());
         Customer savedCustomer = rewardService.addCustomer(customer);
-        log.info("Customer added successfully with ID: {}", savedCustomer.getCustomerId());
+        log.info("Customer added successfully with ID: {}", savedCustomer.customerId());
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCustomer);
     }
 
@@ -47,28 +51,82 @@ public class RewardController {
             @PathVariable Integer customerId,
             @Valid @RequestBody Transaction transaction) {
         log.info("Received request to add transaction (ID: {}) to customer ID: {}",
-                transaction.getTransactionId(), customerId);
+                transaction.transactionId(), customerId);
         Customer updatedCustomer = rewardService.addTransaction(customerId, transaction);
         log.info("Transaction added. Customer ID: {}, New total transactions: {}",
-                customerId, updatedCustomer.getTransactions().size());
+                customerId, updatedCustomer.transactions().size());
         return ResponseEntity.status(HttpStatus.CREATED).body(updatedCustomer);
     }
 
     /**
      * Returns rewards for a specific customer for the given date range.
+     * The response is JSON by default; Smile or CBOR is returned when the
+     * client asks for it in the Accept header.
      *
-     * @param customerId ID of the customer
-     * @param startDate  Start date of range
-     * @param endDate    End date of range
+     * @param customerId          ID of the customer
+     * @param startDate           Start date of range
+     * @param endDate             End date of range
+     * @param includeTransactions Whether to include the transaction list
      * @return RewardResponse with points summary
      */
-    @GetMapping("/customerRewards/{customerId}")
+    @GetMapping(value = "/customerRewards/{customerId}", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            WireFormatConfig.APPLICATION_SMILE_VALUE,
+            WireFormatConfig.APPLICATION_CBOR_VALUE })
     public ResponseEntity<RewardResponse> getCustomerRewards(
             @PathVariable Integer customerId,
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "true") boolean includeTransactions) {
         log.info("Received request to calculate rewards for customer ID: {}", customerId);
-        RewardResponse response = rewardService.calculateRewards(customerId, startDate, endDate);
+        RewardResponse response = rewardService.calculateRewards(customerId, startDate, endDate,
+                includeTransactions);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Returns one page of a customer's transactions for the given date range,
+     * ordered by date and transaction ID. Pass the returned nextCursor to fetch
+     * the following page. Use getCustomerRewards with includeTransactions=false
+     * for the points summary.
+     *
+     * @param customerId ID of the customer
+     * @param startDate  Start date of range
+     * @param endDate    End date of range
+     * @param limit      Maximum number of transactions in the page
+     * @param cursor     Cursor returned with the previous page
+     * @return TransactionPage with the transactions and the next cursor
+     */
+    @GetMapping(value = "/customerRewards/{customerId}/transactions", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            WireFormatConfig.APPLICATION_SMILE_VALUE,
+            WireFormatConfig.APPLICATION_CBOR_VALUE })
+    public ResponseEntity<TransactionPage> getCustomerTransactions(
+            @PathVariable Integer customerId,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Received request to list transactions for customer ID: {}", customerId);
+        TransactionPage page = rewardService.getTransactionPage(customerId, startDate, endDate, limit, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Streams a customer's reward balance as Server-Sent Events. A "points"
+     * event is pushed whenever a transaction is added to the customer.
+     *
+     * An unknown customer gets an empty 404 response, since the JSON error
+     * body cannot be written as an event stream.
+     *
+     * @param customerId ID of the customer
+     * @return SseEmitter delivering balance events, or 404 Not Found
+     */
+    @GetMapping(value = "/customerRewards/{customerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerRewards(@PathVariable Integer customerId) {
+        log.info("Received request to stream rewards for customer ID: {}", customerId);
+        return rewardService.subscribeToBalance(customerId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
\ No newline at end of file
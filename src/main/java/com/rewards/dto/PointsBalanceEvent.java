@@ -0,0 +1,21 @@
+package com.rewards.dto;
+
+/**
+ * Data Transfer Object (DTO) pushed to balance stream subscribers when a
+ * customer's reward points change.
+ * When a subscriber falls behind, consecutive updates are merged into one
+ * event carrying the summed delta and the latest total.
+ *
+ * The total covers every transaction of the customer, unlike the totalPoints
+ * of a reward calculation, which only covers its 3-month window.
+ *
+ * @param customerId       Unique identifier of the customer.
+ * @param deltaPoints      Points added since the previous event sent to this
+ *                         subscriber.
+ * @param lifetimePoints   Running total of the customer's reward points over
+ *                         all transactions.
+ * @param transactionCount Number of transactions covered by this event; 0 for
+ *                         the initial snapshot.
+ */
+public record PointsBalanceEvent(int customerId, int deltaPoints, int lifetimePoints, int transactionCount) {
+}
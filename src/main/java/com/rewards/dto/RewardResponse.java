@@ -1,6 +1,6 @@
 package com.rewards.dto;
 
-import lombok.*;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import com.rewards.model.MonthlyReward;
 import com.rewards.model.Transaction;
@@ -10,38 +10,24 @@ import com.rewards.model.Transaction;
  * This includes customer information, list of transactions within the reward
  * period,
  * a breakdown of monthly reward points, and the total points accumulated.
+ *
+ * @param customerName   Name of the customer.
+ * @param customerId     Unique identifier of the customer.
+ * @param transactions   The list of transactions for the customer during the
+ *                       specified reward period. Each transaction includes
+ *                       date, amount, and calculated reward points. Omitted
+ *                       from the payload when the caller asks for the summary
+ *                       only.
+ * @param monthlyRewards A list containing reward points broken down by month.
+ *                       Each entry represents the total reward points earned
+ *                       in a particular month.
+ * @param totalPoints    The total number of reward points earned across all
+ *                       months and transactions within the specified period.
  */
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class RewardResponse {
-    /**
-     * Name of the customer.
-     */
-    private String customerName;
-
-    /**
-     * Unique identifier of the customer.
-     */
-    private int customerId;
-
-    /**
-     * The list of transactions for the customer during the specified reward period.
-     * Each transaction includes date, amount, and calculated reward points.
-     */
-    private List<Transaction> transactions;
-
-    /**
-     * A list containing reward points broken down by month.
-     * Each entry represents the total reward points earned in a particular month.
-     */
-    private List<MonthlyReward> monthlyRewards;
-
-    /**
-     * The total number of reward points earned across all months and transactions
-     * within the specified period.
-     */
-    private int totalPoints;
-
-}
\ No newline at end of file
+public record RewardResponse(
+        String customerName,
+        int customerId,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<Transaction> transactions,
+        List<MonthlyReward> monthlyRewards,
+        int totalPoints) {
+}
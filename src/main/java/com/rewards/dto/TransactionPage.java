@@ -0,0 +1,16 @@
+package com.rewards.dto;
+
+import java.util.List;
+import com.rewards.model.Transaction;
+
+/**
+ * Data Transfer Object (DTO) representing one page of a customer's
+ * transactions within the reward period, ordered by date and transaction ID.
+ *
+ * @param customerId   Unique identifier of the customer.
+ * @param transactions Transactions in this page, at most the requested limit.
+ * @param nextCursor   Opaque cursor to pass back for the next page, or null on
+ *                     the last page.
+ */
+public record TransactionPage(int customerId, List<Transaction> transactions, String nextCursor) {
+}
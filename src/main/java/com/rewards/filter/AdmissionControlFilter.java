@@ -0,0 +1,296 @@
+package com.rewards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control in front of the rewards API.
+ *
+ * Every client gets a token bucket refilled at a fixed rate. A client is
+ * identified by its X-API-Key header only if the key is one of the configured
+ * rewards.admission.api-keys; any other request is keyed on its IP address,
+ * so rotating made-up keys does not earn a fresh bucket. The reward
+ * calculation endpoint additionally shares a global limit on requests in
+ * flight. Requests over either limit are rejected straight away with 429 and
+ * a Retry-After header.
+ *
+ * At most max-clients buckets are tracked. Once that many exist, idle (full)
+ * buckets are swept out at most once per second, and new clients are
+ * rejected until there is room again.
+ *
+ * All state is kept in atomic counters, so admitting a request never takes a
+ * lock. Rejections are exposed as the rewards.admission.rejected metric.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String API_PATH = "/api/rewards/";
+
+    /**
+     * The reward calculation endpoint only; its transactions page and balance
+     * stream are cheap and are not counted against the concurrency limit.
+     */
+    private static final Pattern EXPENSIVE_PATH = Pattern.compile("/api/rewards/customerRewards/[^/]+");
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final int maxConcurrent;
+
+    private final int maxClients;
+
+    private final Set<String> apiKeys;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rateLimited = new LongAdder();
+
+    private final LongAdder concurrencyLimited = new LongAdder();
+
+    private final LongAdder capacityLimited = new LongAdder();
+
+    @Autowired
+    public AdmissionControlFilter(
+            @Value("${rewards.admission.enabled:true}") boolean enabled,
+            @Value("${rewards.admission.permits-per-second:50}") double permitsPerSecond,
+            @Value("${rewards.admission.burst:100}") int burst,
+            @Value("${rewards.admission.max-concurrent:64}") int maxConcurrent,
+            @Value("${rewards.admission.max-clients:10000}") int maxClients,
+            @Value("${rewards.admission.api-keys:}") Set<String> apiKeys,
+            ObjectMapper objectMapper) {
+        this(enabled, permitsPerSecond, burst, maxConcurrent, maxClients, apiKeys, objectMapper, System::nanoTime);
+    }
+
+    /**
+     * Creates a filter reading time from the given clock; used by tests.
+     */
+    AdmissionControlFilter(boolean enabled, double permitsPerSecond, int burst, int maxConcurrent,
+            int maxClients, Set<String> apiKeys, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxConcurrent < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Admission limits must be positive.");
+        }
+        this.enabled = enabled;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxClients = maxClients;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !path(request).startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = bucketFor(client, now);
+        // Rejections are logged at debug level only: under overload a line per
+        // request would flood the synchronous file appender, and the
+        // rewards.admission.rejected counters already track them
+        if (bucket == null) {
+            capacityLimited.increment();
+            log.debug("Tracking {} clients already, rejecting new client {}", maxClients, client);
+            reject(response, SWEEP_INTERVAL_NANOS, "Too many clients, try again later.");
+            return;
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            log.debug("Rate limit exceeded for client {}", client);
+            reject(response, waitNanos, "Rate limit exceeded for client.");
+            return;
+        }
+
+        if (!EXPENSIVE_PATH.matcher(path(request)).matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (inFlight.incrementAndGet() > maxConcurrent) {
+            inFlight.decrementAndGet();
+            concurrencyLimited.increment();
+            log.debug("Concurrency limit of {} reached, rejecting request from client {}", maxConcurrent, client);
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Server is busy, try again later.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Registers rejection counters and the current load with Micrometer.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.admission.rejected", rateLimited, LongAdder::doubleValue)
+                .tag("reason", "rate_limit")
+                .description("Requests rejected by the per-client rate limit")
+                .register(registry);
+        FunctionCounter.builder("rewards.admission.rejected", concurrencyLimited, LongAdder::doubleValue)
+                .tag("reason", "concurrency")
+                .description("Requests rejected by the concurrency limit")
+                .register(registry);
+        FunctionCounter.builder("rewards.admission.rejected", capacityLimited, LongAdder::doubleValue)
+                .tag("reason", "client_capacity")
+                .description("Requests from new clients rejected while max-clients are tracked")
+                .register(registry);
+        Gauge.builder("rewards.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Reward calculation requests currently in flight")
+                .register(registry);
+        Gauge.builder("rewards.admission.clients", buckets, Map::size)
+                .description("Clients currently tracked by the rate limiter")
+                .register(registry);
+    }
+
+    /**
+     * @return the client's bucket, or null if the client is new and no more
+     *         clients can be tracked
+     */
+    private TokenBucket bucketFor(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            sweep(now);
+            if (buckets.size() >= maxClients) {
+                return null;
+            }
+        }
+        // Concurrent new clients may overshoot the cap by at most one each
+        return buckets.computeIfAbsent(client, c -> new TokenBucket(now));
+    }
+
+    /**
+     * Evicts full buckets, which hold no state worth keeping. Only one thread
+     * sweeps, at most once per interval, so the O(max-clients) scan is
+     * amortized over all requests instead of paid by each new client.
+     */
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(b -> b.isFull(now));
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Lock-free token bucket using the generic cell rate algorithm: a single
+     * timestamp records when the bucket will be full again, and each admitted
+     * request pushes it forward by one emission interval.
+     */
+    private final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival;
+
+        private TokenBucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 if the request is admitted, otherwise nanoseconds until a
+         *         token becomes available
+         */
+        private long tryAcquire(long now) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
+                long wait = next - now - burstToleranceNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isFull(long now) {
+            return theoreticalArrival.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.rewards.loadtest;
+
+import com.rewards.model.Customer;
+import com.rewards.model.Transaction;
+import com.rewards.utils.RewardCalculator;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic customers and transactions for load
+ * testing.
+ *
+ * Each customer is generated from its own random stream derived from the seed
+ * and the customer ID, so the same seed always yields the same customer no
+ * matter how many customers are generated or in which order.
+ *
+ * Distributions:
+ * A small fraction of customers are heavy hitters with many more
+ * transactions than the rest.
+ * Transaction months are drawn from the last N months, weighted by calendar
+ * month to model seasonal peaks.
+ * Amounts are log-normal around a typical basket, so all reward tiers occur.
+ */
+public class SyntheticDataGenerator {
+
+    private static final double MEDIAN_AMOUNT = 60.0;
+    private static final double AMOUNT_SIGMA = 0.6;
+    private static final double MAX_AMOUNT = 2000.0;
+
+    private final long seed;
+    private final int transactionsPerCustomer;
+    private final double heavyHitterFraction;
+    private final int heavyHitterTransactions;
+    private final int months;
+    private final double[] seasonalWeights;
+
+    /**
+     * @param seed                    seed for all random streams
+     * @param transactionsPerCustomer mean number of transactions of a regular
+     *                                customer
+     * @param heavyHitterFraction     share of customers that are heavy hitters
+     *                                (0 to 1)
+     * @param heavyHitterTransactions mean number of transactions of a heavy
+     *                                hitter
+     * @param months                  number of months, up to and including the
+     *                                current one, that transactions span
+     * @param seasonalWeights         relative weight of each calendar month,
+     *                                January first
+     */
+    public SyntheticDataGenerator(long seed, int transactionsPerCustomer, double heavyHitterFraction,
+            int heavyHitterTransactions, int months, double[] seasonalWeights) {
+        if (transactionsPerCustomer < 1 || heavyHitterTransactions < 1 || months < 1) {
+            throw new IllegalArgumentException("Transaction counts and months must be positive.");
+        }
+        if (heavyHitterFraction < 0 || heavyHitterFraction > 1) {
+            throw new IllegalArgumentException("Heavy hitter fraction must be between 0 and 1.");
+        }
+        if (seasonalWeights.length != 12) {
+            throw new IllegalArgumentException("Seasonal weights must have one entry per calendar month.");
+        }
+        this.seed = seed;
+        this.transactionsPerCustomer = transactionsPerCustomer;
+        this.heavyHitterFraction = heavyHitterFraction;
+        this.heavyHitterTransactions = heavyHitterTransactions;
+        this.months = months;
+        this.seasonalWeights = seasonalWeights.clone();
+    }
+
+    /**
+     * Generates one customer with scored transactions dated up to today.
+     *
+     * @param customerId ID of the customer to generate
+     * @param today      last date transactions may fall on
+     * @return the generated customer
+     */
+    public Customer generateCustomer(int customerId, LocalDate today) {
+        SplittableRandom random = new SplittableRandom(seed ^ (customerId * 0x9E3779B97F4A7C15L));
+        boolean heavyHitter = random.nextDouble() < heavyHitterFraction;
+        int mean = heavyHitter ? heavyHitterTransactions : transactionsPerCustomer;
+        // Uniform within +/-50% of the mean keeps counts varied but bounded
+        int count = Math.max(1, mean / 2 + random.nextInt(mean + 1));
+
+        double[] cumulativeWeights = cumulativeMonthWeights(today);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDate date = randomDate(random, cumulativeWeights, today);
+            double amount = randomAmount(random);
+            transactions.add(new Transaction(i, date, amount, RewardCalculator.calculatePoints(amount)));
+        }
+        String name = (heavyHitter ? "Business Customer " : "Customer ") + customerId;
+        return new Customer(name, customerId, transactions);
+    }
+
+    private double[] cumulativeMonthWeights(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        double[] cumulative = new double[months];
+        double total = 0;
+        for (int i = 0; i < months; i++) {
+            // Index 0 is the oldest month in the window
+            YearMonth month = current.minusMonths(months - 1 - i);
+            total += seasonalWeights[month.getMonthValue() - 1];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private LocalDate randomDate(SplittableRandom random, double[] cumulativeWeights, LocalDate today) {
+        double pick = random.nextDouble() * cumulativeWeights[months - 1];
+        int index = 0;
+        while (index < months - 1 && cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        YearMonth month = YearMonth.from(today).minusMonths(months - 1 - index);
+        int lastDay = month.equals(YearMonth.from(today)) ? today.getDayOfMonth() : month.lengthOfMonth();
+        return month.atDay(1 + random.nextInt(lastDay));
+    }
+
+    private static double randomAmount(SplittableRandom random) {
+        // Box-Muller transform for a standard normal sample
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                * Math.cos(2 * Math.PI * random.nextDouble());
+        double amount = MEDIAN_AMOUNT * Math.exp(AMOUNT_SIGMA * gaussian);
+        return Math.round(Math.min(MAX_AMOUNT, Math.max(1.0, amount)) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.rewards.loadtest;
+
+import com.rewards.model.Customer;
+import com.rewards.repository.CustomerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Fills {@link CustomerRepository} with synthetic customers on startup when
+ * the loadtest profile is active. Customer IDs run from
+ * rewards.loadtest.first-customer-id upwards, matching the load driver's
+ * defaults.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    private final CustomerRepository customerRepository;
+
+    private final SyntheticDataGenerator generator;
+
+    private final int customers;
+
+    private final int firstCustomerId;
+
+    public SyntheticDataLoader(CustomerRepository customerRepository,
+            @Value("${rewards.loadtest.customers:1000}") int customers,
+            @Value("${rewards.loadtest.first-customer-id:1}") int firstCustomerId,
+            @Value("${rewards.loadtest.seed:42}") long seed,
+            @Value("${rewards.loadtest.transactions-per-customer:20}") int transactionsPerCustomer,
+            @Value("${rewards.loadtest.heavy-hitter-fraction:0.01}") double heavyHitterFraction,
+            @Value("${rewards.loadtest.heavy-hitter-transactions:5000}") int heavyHitterTransactions,
+            @Value("${rewards.loadtest.months:12}") int months,
+            @Value("${rewards.loadtest.seasonal-weights:1,1,1,1,1,1,1,1,1,1,1.5,2.5}") double[] seasonalWeights) {
+        this.customerRepository = customerRepository;
+        this.customers = customers;
+        this.firstCustomerId = firstCustomerId;
+        this.generator = new SyntheticDataGenerator(seed, transactionsPerCustomer, heavyHitterFraction,
+                heavyHitterTransactions, months, seasonalWeights);
+        log.info("Synthetic data: seed={}, seasonal weights={}", seed, Arrays.toString(seasonalWeights));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        long transactions = 0;
+        for (int id = firstCustomerId; id < firstCustomerId + customers; id++) {
+            Customer customer = generator.generateCustomer(id, today);
+            customerRepository.save(customer);
+            transactions += customer.transactions().size();
+        }
+        log.info("Loaded {} synthetic customers with {} transactions in {} ms", customers, transactions,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
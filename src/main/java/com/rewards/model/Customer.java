@@ -1,44 +1,39 @@
 package com.rewards.model;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
-import lombok.*;
 import java.util.List;
 
 /**
  * Represents a customer entity with basic information and transaction history.
- * 
- * This class holds the customer name, unique customer ID, and the list of
- * transactions
- * made by the customer. It is used across the rewards calculation system.
- * 
- * Lombok annotations simplify the creation of boilerplate code like getters,
- * setters,
- * constructors, etc.
+ *
+ * This record holds the customer name, unique customer ID, and the list of
+ * transactions made by the customer. It is used across the rewards calculation
+ * system.
+ *
+ * Customers are immutable: the transactions are held in a
+ * {@link TransactionHistory}, so a customer can be shared between threads
+ * without locking. Adding a transaction produces a new customer (see
+ * {@code CustomerRepository#appendTransaction}) whose history extends the
+ * previous one without copying it.
+ *
+ * @param customerName Name of the customer. Must not be empty.
+ * @param customerId   Unique identifier for the customer. Must not be null.
+ * @param transactions Transactions of the customer. Must not be empty during
+ *                     creation, and each transaction is validated too.
  */
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class Customer {
+public record Customer(
+        @NotEmpty(message = "Customer name must not be empty.")
+        String customerName,
 
-    /**
-     * Name of the customer.
-     * This field must not be empty.
-     */
-    @NotEmpty(message = "Customer name must not be empty.")
-    private String customerName;
+        @NotNull(message = "Customer ID must not be null.")
+        Integer customerId,
 
-    /**
-     * Unique identifier for the customer.
-     * This field must not be null.
-     */
-    @NotNull(message = "Customer ID must not be null.")
-    private Integer customerId;
+        @NotEmpty(message = "Transactions list must not be empty.")
+        List<@Valid Transaction> transactions) {
 
-    /**
-     * List of transactions associated with the customer.
-     * This list must not be empty during creation.
-     */
-    @NotEmpty(message = "Transactions list must not be empty.")
-    private List<Transaction> transactions;
-}
\ No newline at end of file
+    public Customer {
+        // A missing list stays null so that validation can report it
+        transactions = transactions == null ? null : TransactionHistory.of(transactions);
+    }
+}
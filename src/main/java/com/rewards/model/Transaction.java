@@ -1,43 +1,43 @@
 package com.rewards.model;
 
 import jakarta.validation.constraints.*;
-import lombok.*;
 import java.time.LocalDate;
 
 /**
  * Represents a customer's transaction used for calculating reward points.
  * Each transaction includes an ID, date, amount, and the reward points earned.
+ *
+ * Transactions are immutable; {@link #withPoints(int)} returns a scored copy.
+ *
+ * @param transactionId   Unique identifier for the transaction. Must not be null.
+ * @param transactionDate Date of the transaction. Must be today or a past date.
+ * @param amount          Amount spent in the transaction. Must be present and
+ *                        at least 1.0.
+ * @param points          Points earned for this transaction based on reward
+ *                        calculation. This is usually set internally and not
+ *                        provided in the request.
  */
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class Transaction {
-    /**
-     * Unique identifier for the transaction.
-     * Must not be null.
-     */
-    @NotNull(message = "Transaction ID must be present.")
-    private Integer transactionId;
+public record Transaction(
+        @NotNull(message = "Transaction ID must be present.")
+        Integer transactionId,
 
-    /**
-     * Date of the transaction.
-     * Must be today or a past date.
-     */
-    @NotNull(message = "Transaction date is required.")
-    @PastOrPresent(message = "Transaction date cannot be in the future.")
-    private LocalDate transactionDate;
+        @NotNull(message = "Transaction date is required.")
+        @PastOrPresent(message = "Transaction date cannot be in the future.")
+        LocalDate transactionDate,
 
-    /**
-     * Amount spent in the transaction.
-     * Must be at least 1.0.
-     */
-    @DecimalMin(value = "1.0", message = "Transaction amount must be greater than zero.")
-    private Double amount;
+        @NotNull(message = "Transaction amount is required.")
+        @DecimalMin(value = "1.0", message = "Transaction amount must be greater than zero.")
+        Double amount,
+
+        int points) {
 
     /**
-     * Points earned for this transaction based on reward calculation.
-     * This is usually set internally and not provided in the request.
+     * Returns a copy of this transaction with the given reward points.
+     *
+     * @param points the calculated reward points
+     * @return transaction carrying the points
      */
-    private int points;
-}
\ No newline at end of file
+    public Transaction withPoints(int points) {
+        return new Transaction(transactionId, transactionDate, amount, points);
+    }
+}
@@ -0,0 +1,100 @@
+package com.rewards.model;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of a customer's transactions that can be extended cheaply.
+ *
+ * A history is a view of the first {@code size} slots of a backing array.
+ * Slots are written once and never changed, so {@link #append} can hand out a
+ * longer view over the same array instead of copying it; only the latest
+ * history of a backing array extends it in place, older ones copy. Appending
+ * therefore costs amortized O(1) while every history stays unchanged for its
+ * readers.
+ */
+public final class TransactionHistory extends AbstractList<Transaction> implements RandomAccess {
+
+    private static final TransactionHistory EMPTY = new TransactionHistory(new Backing(new Transaction[0], 0), 0);
+
+    private final Backing backing;
+
+    private final int size;
+
+    private TransactionHistory(Backing backing, int size) {
+        this.backing = backing;
+        this.size = size;
+    }
+
+    /**
+     * Returns the given transactions as a history, copying them unless they
+     * already are one.
+     *
+     * @param transactions the transactions, none of them null
+     * @return a history holding the transactions in order
+     */
+    public static TransactionHistory of(Collection<Transaction> transactions) {
+        if (transactions instanceof TransactionHistory history) {
+            return history;
+        }
+        if (transactions.isEmpty()) {
+            return EMPTY;
+        }
+        Transaction[] elements = transactions.toArray(new Transaction[0]);
+        for (Transaction tx : elements) {
+            Objects.requireNonNull(tx, "Transactions must not contain null.");
+        }
+        return new TransactionHistory(new Backing(elements, elements.length), elements.length);
+    }
+
+    /**
+     * Returns a history with the transaction added at the end. This history
+     * is left unchanged.
+     *
+     * @param transaction the transaction to add
+     * @return the longer history
+     */
+    public TransactionHistory append(Transaction transaction) {
+        Objects.requireNonNull(transaction, "Transaction must not be null.");
+        synchronized (backing) {
+            if (backing.used == size && size < backing.elements.length) {
+                backing.elements[size] = transaction;
+                backing.used = size + 1;
+                return new TransactionHistory(backing, size + 1);
+            }
+        }
+        Transaction[] elements = new Transaction[Math.max(8, size + (size >> 1) + 1)];
+        System.arraycopy(backing.elements, 0, elements, 0, size);
+        elements[size] = transaction;
+        return new TransactionHistory(new Backing(elements, size + 1), size + 1);
+    }
+
+    @Override
+    public Transaction get(int index) {
+        Objects.checkIndex(index, size);
+        return backing.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Array shared by the histories built from it. Slots below {@code used}
+     * are taken; only the history ending at {@code used} may fill the next.
+     */
+    private static final class Backing {
+
+        private final Transaction[] elements;
+
+        private int used;
+
+        private Backing(Transaction[] elements, int used) {
+            this.elements = elements;
+            this.used = used;
+        }
+    }
+}
@@ -1,16 +1,38 @@
 package com.rewards.repository;
 
 import com.rewards.model.Customer;
+import com.rewards.model.Transaction;
+import com.rewards.model.TransactionHistory;
+import com.rewards.utils.TransactionCursor;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * In-memory repository for customers.
+ *
+ * Customers are immutable, so a new transaction is added by replacing the
+ * stored customer inside {@link Map#computeIfPresent}, which serializes
+ * writers per customer. Readers therefore always see a complete, consistent
+ * transaction list without locking. New customers are inserted with
+ * {@link Map#putIfAbsent}, so concurrent creates cannot overwrite each other.
+ *
+ * Alongside each customer it keeps an index of their transactions ordered by
+ * date and transaction ID, so a page of transactions can be read by seeking
+ * into the index instead of scanning the full list. Transaction IDs are
+ * unique per customer, which keeps every transaction in the index.
  */
 @Repository
 public class CustomerRepository {
 
-    private final Map<Integer, Customer> store = new HashMap<>();
+    private static final Comparator<Transaction> DATE_ORDER = Comparator
+            .comparing(Transaction::transactionDate)
+            .thenComparing(Transaction::transactionId);
+
+    private final Map<Integer, CustomerEntry> store = new ConcurrentHashMap<>();
 
     /**
      * Checks if a customer with the specified ID exists in the repository.
@@ -23,14 +45,45 @@ public class CustomerRepository {
     }
 
     /**
-     * Save or update a customer.
+     * Save a new customer.
      *
      * @param customer the customer to save
-     * @return saved customer
+     * @return the stored customer
+     * @throws IllegalArgumentException if a customer with the same ID already
+     *                                  exists or two transactions share an ID
      */
     public Customer save(Customer customer) {
-        store.put(customer.getCustomerId(), customer);
-        return customer;
+        Customer stored = customer.transactions() == null
+                ? new Customer(customer.customerName(), customer.customerId(), List.of())
+                : customer;
+        Set<Integer> ids = new HashSet<>();
+        NavigableSet<Transaction> byDate = new ConcurrentSkipListSet<>(DATE_ORDER);
+        for (Transaction tx : stored.transactions()) {
+            if (!ids.add(tx.transactionId())) {
+                throw new IllegalArgumentException("Duplicate transaction ID: " + tx.transactionId());
+            }
+            byDate.add(tx);
+        }
+        if (store.putIfAbsent(stored.customerId(), new CustomerEntry(stored, ids, byDate)) != null) {
+            throw new IllegalArgumentException("Customer with ID " + stored.customerId() + " already exists.");
+        }
+        return stored;
+    }
+
+    /**
+     * Appends a transaction to an existing customer. Concurrent appends to the
+     * same customer are applied one at a time, and none of them is lost.
+     *
+     * @param id          customer ID
+     * @param transaction the transaction to append
+     * @return the customer with the transaction appended; empty if the
+     *         customer is unknown
+     * @throws IllegalArgumentException if the customer already has a
+     *                                  transaction with the same ID
+     */
+    public Optional<Customer> appendTransaction(Integer id, Transaction transaction) {
+        CustomerEntry updated = store.computeIfPresent(id, (key, entry) -> entry.append(transaction));
+        return Optional.ofNullable(updated).map(CustomerEntry::customer);
     }
 
     /**
@@ -40,7 +93,81 @@ public class CustomerRepository {
      * @return Optional of Customer
      */
     public Optional<Customer> findById(Integer id) {
-        return Optional.ofNullable(store.get(id));
+        return Optional.ofNullable(store.get(id)).map(CustomerEntry::customer);
+    }
+
+    /**
+     * Returns up to {@code limit} transactions of a customer dated between
+     * {@code startDate} and {@code endDate} (inclusive), in date and
+     * transaction ID order, starting right after {@code after}.
+     *
+     * @param id        customer ID
+     * @param startDate first date of the range
+     * @param endDate   last date of the range
+     * @param after     position of the last transaction already returned, or
+     *                  null to start at the beginning of the range
+     * @param limit     maximum number of transactions to return
+     * @return the matching transactions; empty if the customer is unknown
+     */
+    public List<Transaction> findTransactionsPage(Integer id, LocalDate startDate, LocalDate endDate,
+            TransactionCursor after, int limit) {
+        CustomerEntry entry = store.get(id);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+
+        Transaction lower = probe(startDate, Integer.MIN_VALUE);
+        boolean lowerInclusive = true;
+        if (after != null) {
+            Transaction position = probe(after.transactionDate(), after.transactionId());
+            if (DATE_ORDER.compare(position, lower) >= 0) {
+                lower = position;
+                lowerInclusive = false;
+            }
+        }
+        Transaction upper = probe(endDate, Integer.MAX_VALUE);
+        if (DATE_ORDER.compare(lower, upper) > 0) {
+            return Collections.emptyList();
+        }
+
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 256));
+        for (Transaction tx : entry.byDate().subSet(lower, lowerInclusive, upper, true)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(tx);
+        }
+        return page;
+    }
+
+    private static Transaction probe(LocalDate date, int transactionId) {
+        return new Transaction(transactionId, date, null, 0);
+    }
+
+    /**
+     * Current version of a customer together with their transaction IDs and
+     * date-ordered index.
+     *
+     * Entries are only replaced inside {@link Map#computeIfPresent}. An append
+     * builds a new customer whose {@link TransactionHistory} extends the
+     * previous one without copying it, so a customer handed to a reader never
+     * changes. The ID set and skip list are shared between versions: the ID
+     * set is only touched inside computeIfPresent, and readers traverse the
+     * skip list without locking. An append is O(log n) overall.
+     */
+    private record CustomerEntry(Customer customer, Set<Integer> transactionIds,
+            NavigableSet<Transaction> byDate) {
+
+        private CustomerEntry append(Transaction transaction) {
+            if (!transactionIds.add(transaction.transactionId())) {
+                throw new IllegalArgumentException("Customer " + customer.customerId()
+                        + " already has a transaction with ID " + transaction.transactionId() + ".");
+            }
+            byDate.add(transaction);
+            TransactionHistory transactions = TransactionHistory.of(customer.transactions()).append(transaction);
+            return new CustomerEntry(new Customer(customer.customerName(), customer.customerId(), transactions),
+                    transactionIds, byDate);
+        }
     }
 
 }
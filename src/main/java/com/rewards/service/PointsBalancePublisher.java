@@ -0,0 +1,287 @@
+package com.rewards.service;
+
+import com.rewards.dto.PointsBalanceEvent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Fans out reward balance updates to Server-Sent Event subscribers.
+ *
+ * Publishing never blocks the caller: each subscriber has a bounded buffer
+ * drained on a virtual thread of its own, whichever thread model serves
+ * requests, so a client stuck in a blocking write parks only its own drain.
+ * Once a subscriber's buffer is full, further updates are coalesced into a
+ * single pending event until the subscriber catches up, so a slow client only
+ * ever delays itself.
+ *
+ * Writers publish after their transaction is committed, so two updates to
+ * one customer may arrive in either order. Each balance therefore carries a
+ * per-customer version, and a subscriber ignores any balance that is not
+ * newer than the last one it accepted.
+ */
+@Slf4j
+@Service
+public class PointsBalancePublisher implements DisposableBean {
+
+    private static final String EVENT_NAME = "points";
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+
+    private final int bufferSize;
+
+    private final ExecutorService dispatcher;
+
+    private final LongFunction<SseEmitter> emitterFactory;
+
+    @Autowired
+    public PointsBalancePublisher(
+            @Value("${rewards.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${rewards.stream.buffer-size:32}") int bufferSize) {
+        this(timeoutMillis, bufferSize,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("points-stream-", 1).factory()),
+                SseEmitter::new);
+    }
+
+    /**
+     * Creates a publisher with the given dispatcher and emitter factory; used
+     * by tests to drive dispatching by hand.
+     */
+    PointsBalancePublisher(long timeoutMillis, int bufferSize, ExecutorService dispatcher,
+            LongFunction<SseEmitter> emitterFactory) {
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.dispatcher = dispatcher;
+        this.emitterFactory = emitterFactory;
+    }
+
+    /**
+     * Checks whether anyone is listening to a customer's balance.
+     *
+     * @param customerId the customer ID
+     * @return true if the customer has at least one subscriber
+     */
+    public boolean hasSubscribers(Integer customerId) {
+        Set<Subscriber> customerSubscribers = subscribers.get(customerId);
+        return customerSubscribers != null && !customerSubscribers.isEmpty();
+    }
+
+    /**
+     * Registers a new subscriber and sends the current balance as its first
+     * event.
+     *
+     * The balance is read only after the subscriber is registered, so a
+     * transaction committed meanwhile is either part of that balance or
+     * published to the subscriber afterwards, and never missed. Updates with
+     * a version the balance already covers are dropped.
+     *
+     * @param customerId     the customer ID to follow
+     * @param currentBalance reads the customer's current balance
+     * @return the emitter streaming events to the client
+     */
+    public SseEmitter subscribe(Integer customerId, Supplier<Balance> currentBalance) {
+        SseEmitter emitter = emitterFactory.apply(timeoutMillis);
+        Subscriber subscriber = new Subscriber(customerId, emitter);
+        subscribers.compute(customerId, (id, existing) -> {
+            Set<Subscriber> customerSubscribers = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            customerSubscribers.add(subscriber);
+            return customerSubscribers;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        log.info("New balance subscriber for customer ID: {}", customerId);
+        subscriber.start(currentBalance.get());
+        return emitter;
+    }
+
+    /**
+     * Pushes a balance change to every subscriber of the customer.
+     *
+     * @param customerId the customer ID
+     * @param balance    the customer's balance after the change
+     */
+    public void publish(Integer customerId, Balance balance) {
+        Set<Subscriber> customerSubscribers = subscribers.get(customerId);
+        if (customerSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : customerSubscribers) {
+            subscriber.offer(balance);
+        }
+    }
+
+    /**
+     * Completes all open streams and stops the dispatcher.
+     */
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(customerSubscribers -> customerSubscribers.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * A customer's point total as of a version. Versions of one customer
+     * increase with every change, so the higher version is the newer balance.
+     *
+     * @param version        the number of transactions the total covers
+     * @param lifetimePoints the customer's point total over all transactions
+     */
+    public record Balance(int version, int lifetimePoints) {
+    }
+
+    private static PointsBalanceEvent coalesce(PointsBalanceEvent pending, PointsBalanceEvent next) {
+        if (pending == null) {
+            return next;
+        }
+        return new PointsBalanceEvent(next.customerId(), pending.deltaPoints() + next.deltaPoints(),
+                next.lifetimePoints(), pending.transactionCount() + next.transactionCount());
+    }
+
+    /**
+     * One connected client. At most one thread drains a subscriber
+     * at a time, which keeps its events in order. Updates offered before the
+     * subscriber is started are held until its initial balance is sent.
+     *
+     * Offering and starting are serialized on the subscriber, so the delta of
+     * each accepted update is taken against the previous accepted balance and
+     * events are queued in version order.
+     */
+    private final class Subscriber {
+
+        private final Integer customerId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<PointsBalanceEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        // Updates that did not fit in the buffer, merged into one event. While
+        // set, new updates are merged here too so they are never sent ahead of it.
+        private final AtomicReference<PointsBalanceEvent> overflow = new AtomicReference<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile PointsBalanceEvent initial;
+
+        private volatile boolean started;
+
+        // Last balance queued for sending, or before start the newest offered
+        private Balance latest;
+
+        private volatile boolean closed;
+
+        private Subscriber(Integer customerId, SseEmitter emitter) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Balance balance) {
+            synchronized (this) {
+                if (closed || (latest != null && balance.version() <= latest.version())) {
+                    return;
+                }
+                if (!started) {
+                    latest = balance;
+                    return;
+                }
+                enqueue(balance);
+            }
+            schedule();
+        }
+
+        private void start(Balance snapshot) {
+            synchronized (this) {
+                initial = new PointsBalanceEvent(customerId, 0, snapshot.lifetimePoints(), 0);
+                Balance early = latest;
+                latest = snapshot;
+                if (early != null && early.version() > snapshot.version()) {
+                    enqueue(early);
+                }
+                started = true;
+            }
+            schedule();
+        }
+
+        private void enqueue(Balance balance) {
+            PointsBalanceEvent event = new PointsBalanceEvent(customerId,
+                    balance.lifetimePoints() - latest.lifetimePoints(), balance.lifetimePoints(),
+                    balance.version() - latest.version());
+            latest = balance;
+            if (overflow.get() != null || !buffer.offer(event)) {
+                overflow.accumulateAndGet(event, PointsBalancePublisher::coalesce);
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                PointsBalanceEvent snapshot = initial;
+                if (snapshot != null && !closed) {
+                    initial = null;
+                    send(snapshot);
+                }
+                while (!closed) {
+                    PointsBalanceEvent event = buffer.poll();
+                    if (event == null) {
+                        event = overflow.getAndSet(null);
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    send(event);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // An update may have arrived after the last poll but before the flag was cleared
+            if (!closed && (!buffer.isEmpty() || overflow.get() != null)) {
+                schedule();
+            }
+        }
+
+        private void send(PointsBalanceEvent event) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Dropping balance subscriber for customer ID {}: {}", customerId, e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.computeIfPresent(customerId, (id, customerSubscribers) -> {
+                customerSubscribers.remove(this);
+                return customerSubscribers.isEmpty() ? null : customerSubscribers;
+            });
+        }
+    }
+}
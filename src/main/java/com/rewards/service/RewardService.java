@@ -1,17 +1,20 @@
 package com.rewards.service;
 
 import com.rewards.dto.RewardResponse;
+import com.rewards.dto.TransactionPage;
 import com.rewards.model.Customer;
 import com.rewards.model.MonthlyReward;
 import com.rewards.model.Transaction;
 import com.rewards.repository.CustomerRepository;
 import com.rewards.utils.RewardCalculator;
+import com.rewards.utils.TransactionCursor;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.Month;
@@ -30,39 +33,47 @@ import java.util.stream.Collectors;
 @Validated
 public class RewardService {
 
+    /**
+     * Largest page size accepted by {@link #getTransactionPage}.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final CustomerRepository customerRepository;
 
+    private final PointsBalancePublisher balancePublisher;
+
     /**
      * Adds a new customer along with their transactions and calculates reward
      * points.
      *
      * @param customer the customer object to add
      * @return the saved Customer object
-     * @throws IllegalArgumentException if customer data is invalid or already
-     *                                  exists
+     * @throws IllegalArgumentException if customer data is invalid, already
+     *                                  exists or has duplicate transaction IDs
      */
     public Customer addCustomer(Customer customer) {
 
         log.info("Attempting to add new customer: {}", customer);
 
-        if (customer == null || customer.getCustomerId() == null) {
+        if (customer == null || customer.customerId() == null) {
             log.error("Invalid customer input: {}", customer);
             throw new IllegalArgumentException("Customer ID must not be null.");
         }
-        if (customer == null || customer.getCustomerName() == null) {
+        if (customer == null || customer.customerName() == null) {
             log.error("Invalid customer input: {}", customer);
             throw new IllegalArgumentException("Customer Name must not be null.");
         }
 
-        if (customerRepository.existsById(customer.getCustomerId())) {
-            log.warn("Customer already exists with ID: {}", customer.getCustomerId());
-            throw new IllegalArgumentException("Customer with ID " + customer.getCustomerId() + " already exists.");
+        // Fails fast here; the repository also rejects a concurrent create of the same ID
+        if (customerRepository.existsById(customer.customerId())) {
+            log.warn("Customer already exists with ID: {}", customer.customerId());
+            throw new IllegalArgumentException("Customer with ID " + customer.customerId() + " already exists.");
         }
-        customer.getTransactions().forEach(tx -> {
-            tx.setPoints(RewardCalculator.calculatePoints(tx.getAmount()));
-        });
+        List<Transaction> scored = customer.transactions().stream()
+                .map(tx -> tx.withPoints(RewardCalculator.calculatePoints(tx.amount())))
+                .collect(Collectors.toList());
 
-        return customerRepository.save(customer);
+        return customerRepository.save(new Customer(customer.customerName(), customer.customerId(), scored));
     }
 
     /**
@@ -71,38 +82,60 @@ public class RewardService {
      * @param customerId  the customer ID to add the transaction to
      * @param transaction the transaction to be added
      * @return the updated Customer object with the new transaction
-     * @throws IllegalArgumentException if input is invalid or customer not found
+     * @throws IllegalArgumentException if input is invalid, the customer is not
+     *                                  found or already has a transaction with
+     *                                  the same ID
      */
     public Customer addTransaction(Integer customerId, @Valid Transaction transaction) {
         log.info("Adding transaction to customer ID: {}", customerId);
         if (transaction == null) {
             throw new IllegalArgumentException("Transaction cannot be null.");
         }
-        if (transaction.getTransactionId() == null) {
+        if (transaction.transactionId() == null) {
             log.error("Invalid transaction input: {}", transaction);
             throw new IllegalArgumentException("Transaction ID must not be null.");
         }
-        if (transaction.getTransactionDate() == null) {
+        if (transaction.transactionDate() == null) {
             log.error("Invalid transaction input: {}", transaction);
             throw new IllegalArgumentException("Transaction Date must not be null.");
         }
-        if (transaction.getAmount() == null || transaction.getAmount() <= 0) {
+        if (transaction.amount() == null || transaction.amount() <= 0) {
             log.error("Invalid Amount input: {}", transaction);
             throw new IllegalArgumentException("Amount must be greater than zero.");
         }
 
-        Customer customer = customerRepository.findById(customerId)
+        Transaction scored = transaction.withPoints(RewardCalculator.calculatePoints(transaction.amount()));
+        Customer updated = customerRepository.appendTransaction(customerId, scored)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with ID: " + customerId));
 
-        transaction.setPoints(RewardCalculator.calculatePoints(transaction.getAmount()));
-        customer.getTransactions().add(transaction);
-        Customer updated = customerRepository.save(customer);
-
         log.info("Transaction ID {} added to customer ID {}. Total transactions: {}",
-                transaction.getTransactionId(), customerId, updated.getTransactions().size());
+                transaction.transactionId(), customerId, updated.transactions().size());
+
+        if (balancePublisher.hasSubscribers(customerId)) {
+            balancePublisher.publish(customerId, balance(updated));
+        }
         return updated;
     }
 
+    /**
+     * Opens a live stream of a customer's reward balance. The first event
+     * carries the current total; each later event carries the points added by
+     * new transactions and the updated total.
+     *
+     * @param customerId the customer ID to follow
+     * @return the emitter streaming balance events; empty if the customer does
+     *         not exist
+     */
+    public Optional<SseEmitter> subscribeToBalance(Integer customerId) {
+        if (!customerRepository.existsById(customerId)) {
+            log.warn("Customer not found for balance stream: {}", customerId);
+            return Optional.empty();
+        }
+        return Optional.of(balancePublisher.subscribe(customerId,
+                () -> customerRepository.findById(customerId).map(RewardService::balance)
+                        .orElse(new PointsBalancePublisher.Balance(0, 0))));
+    }
+
     /**
      * Calculates reward points for a customer within the specified date range.
      * If dates are not provided, the default range is the last 3 months from today.
@@ -115,7 +148,110 @@ public class RewardService {
      * @throws IllegalArgumentException if date inputs are invalid
      */
     public RewardResponse calculateRewards(Integer customerId, String start, String end) {
+        return calculateRewards(customerId, start, end, true);
+    }
+
+    /**
+     * Calculates reward points for a customer within the specified date range,
+     * optionally leaving the transaction list out of the response.
+     *
+     * @param customerId          the customer ID to calculate rewards for
+     * @param start               the start date in format YYYY-MM-DD (optional)
+     * @param end                 the end date in format YYYY-MM-DD (optional)
+     * @param includeTransactions whether the matching transactions are returned
+     * @return RewardResponse containing monthly rewards, total points and, when
+     *         requested, transaction details
+     * @throws IllegalArgumentException if date inputs are invalid
+     */
+    public RewardResponse calculateRewards(Integer customerId, String start, String end,
+            boolean includeTransactions) {
+
+        LocalDate endDate = resolveEndDate(start, end);
+        LocalDate calculatedStartDate = endDate.minusMonths(3).plusDays(1);
+        log.info("Calculating rewards for customerId={} between {} and {}", customerId, calculatedStartDate,
+                endDate);
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new NoSuchElementException("Customer not found with ID: " + customerId));
+
+        List<Transaction> filteredTransactions = customer.transactions().stream()
+                .filter(tx -> !tx.transactionDate().isBefore(calculatedStartDate)
+                        && !tx.transactionDate().isAfter(endDate))
+                .map(tx -> tx.withPoints(RewardCalculator.calculatePoints(tx.amount())))
+                .collect(Collectors.toList());
+
+        Map<YearMonth, Integer> grouped = filteredTransactions.stream()
+                .collect(Collectors.groupingBy(
+                        tx -> YearMonth.from(tx.transactionDate()),
+                        Collectors.summingInt(Transaction::points)));
+
+        List<MonthlyReward> monthlyRewards = grouped.entrySet().stream()
+                .map(e -> new MonthlyReward(e.getKey().getYear(), e.getKey().getMonth().name(), e.getValue()))
+                .sorted(Comparator.comparing(MonthlyReward::year)
+                        .thenComparing(r -> Month.valueOf(r.month()).getValue()))
+                .collect(Collectors.toList());
+
+        int totalPoints = monthlyRewards.stream().mapToInt(MonthlyReward::points).sum();
 
+        return new RewardResponse(customer.customerName(), customerId,
+                includeTransactions ? filteredTransactions : null, monthlyRewards, totalPoints);
+    }
+
+    /**
+     * Returns one page of a customer's transactions in the reward window,
+     * ordered by date and transaction ID. The page is read by seeking into the
+     * customer's date index, so its cost depends on the page size rather than
+     * on the number of transactions in the window.
+     *
+     * @param customerId the customer ID to list transactions for
+     * @param start      the start date in format YYYY-MM-DD (optional)
+     * @param end        the end date in format YYYY-MM-DD (optional)
+     * @param limit      maximum number of transactions in the page
+     * @param cursor     cursor returned with the previous page (optional)
+     * @return TransactionPage with the transactions and the next cursor
+     * @throws IllegalArgumentException if inputs are invalid
+     */
+    public TransactionPage getTransactionPage(Integer customerId, String start, String end, int limit,
+            String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        TransactionCursor after = cursor == null || cursor.isEmpty() ? null : TransactionCursor.decode(cursor);
+        LocalDate endDate = resolveEndDate(start, end);
+        LocalDate calculatedStartDate = endDate.minusMonths(3).plusDays(1);
+
+        if (!customerRepository.existsById(customerId)) {
+            throw new NoSuchElementException("Customer not found with ID: " + customerId);
+        }
+        log.info("Listing up to {} transactions for customerId={} between {} and {}", limit, customerId,
+                calculatedStartDate, endDate);
+
+        // Fetch one extra row to find out whether another page follows
+        List<Transaction> transactions = customerRepository.findTransactionsPage(customerId,
+                calculatedStartDate, endDate, after, limit + 1);
+        String nextCursor = null;
+        if (transactions.size() > limit) {
+            transactions = transactions.subList(0, limit);
+            nextCursor = TransactionCursor.of(transactions.get(limit - 1)).encode();
+        }
+        return new TransactionPage(customerId, transactions, nextCursor);
+    }
+
+    // The transaction count only grows, so it versions the customer's balance
+    private static PointsBalancePublisher.Balance balance(Customer customer) {
+        int lifetimePoints = customer.transactions().stream().mapToInt(Transaction::points).sum();
+        return new PointsBalancePublisher.Balance(customer.transactions().size(), lifetimePoints);
+    }
+
+    /**
+     * Validates the requested date range and returns the end of the reward
+     * window. The window always covers the 3 months ending on this date.
+     *
+     * @param start the start date in format YYYY-MM-DD (optional)
+     * @param end   the end date in format YYYY-MM-DD (optional)
+     * @return the last date of the reward window
+     * @throws IllegalArgumentException if date inputs are invalid
+     */
+    private LocalDate resolveEndDate(String start, String end) {
         LocalDate now = LocalDate.now();
         LocalDate startDate;
         LocalDate endDate;
@@ -143,33 +279,7 @@ public class RewardService {
                 throw new IllegalArgumentException("Start date cannot be in the future.");
             }
         }
-        LocalDate calculatedStartDate = endDate.minusMonths(3).plusDays(1);
-        log.info("Calculating rewards for customerId={} between {} and {}", customerId, calculatedStartDate,
-                endDate);
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new NoSuchElementException("Customer not found with ID: " + customerId));
-
-        List<Transaction> filteredTransactions = customer.getTransactions().stream()
-                .filter(tx -> !tx.getTransactionDate().isBefore(calculatedStartDate)
-                        && !tx.getTransactionDate().isAfter(endDate))
-                .peek(tx -> tx.setPoints(RewardCalculator.calculatePoints(tx.getAmount())))
-                .collect(Collectors.toList());
-
-        Map<YearMonth, Integer> grouped = filteredTransactions.stream()
-                .collect(Collectors.groupingBy(
-                        tx -> YearMonth.from(tx.getTransactionDate()),
-                        Collectors.summingInt(Transaction::getPoints)));
-
-        List<MonthlyReward> monthlyRewards = grouped.entrySet().stream()
-                .map(e -> new MonthlyReward(e.getKey().getYear(), e.getKey().getMonth().name(), e.getValue()))
-                .sorted(Comparator.comparing(MonthlyReward::getYear)
-                        .thenComparing(r -> Month.valueOf(r.getMonth()).getValue()))
-                .collect(Collectors.toList());
-
-        int totalPoints = monthlyRewards.stream().mapToInt(MonthlyReward::getPoints).sum();
-
-        return new RewardResponse(customer.getCustomerName(), customerId, filteredTransactions, monthlyRewards,
-                totalPoints);
+        return endDate;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.rewards.utils;
+
+import com.rewards.model.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a customer's date-ordered transaction list.
+ *
+ * A cursor points at the last transaction returned in a page. It is handed to
+ * clients as an opaque URL-safe token holding the transaction date and ID.
+ *
+ * @param transactionDate Date of the last transaction returned.
+ * @param transactionId   ID of the last transaction returned.
+ */
+public record TransactionCursor(LocalDate transactionDate, int transactionId) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates a cursor positioned at the given transaction.
+     *
+     * @param transaction the last transaction of a page
+     * @return cursor pointing at the transaction
+     */
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.transactionDate(), transaction.transactionId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = transactionDate + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, split)),
+                    Integer.parseInt(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -3,19 +3,23 @@ package com.rewards.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rewards.config.WireFormatConfig;
 import com.rewards.model.*;
 import com.rewards.dto.RewardResponse;
+import com.rewards.dto.TransactionPage;
 import com.rewards.service.RewardService;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.junit.jupiter.api.*;
+import org.hamcrest.Matchers;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDate;
 import java.util.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -41,17 +45,69 @@ class RewardControllerTest {
          */
         @Test
         void testAddCustomer() throws Exception {
-                Customer customer = new Customer("Arunkumar", 1001, new ArrayList<>());
+                Transaction tx = new Transaction(1, LocalDate.now(), 120.0, 90);
+                Customer customer = new Customer("Arunkumar", 1001, new ArrayList<>(List.of(tx)));
 
                 Mockito.when(rewardService.addCustomer(Mockito.any())).thenReturn(customer);
 
+                ObjectMapper mapper = new ObjectMapper();
+                mapper.registerModule(new JavaTimeModule());
+                mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
                 mockMvc.perform(post("/api/rewards/customers")
                                 .contentType(MediaType.APPLICATION_JSON)
-                                .content(new ObjectMapper().writeValueAsString(customer)))
+                                .content(mapper.writeValueAsString(customer)))
                                 .andExpect(status().isCreated())
                                 .andExpect(jsonPath("$.customerId").value(1001));
         }
 
+        /**
+         * Test for adding a customer without transactions.
+         * Verifies the request is rejected by bean validation with status 400.
+         */
+        @Test
+        void testAddCustomerWithoutTransactions() throws Exception {
+                Customer customer = new Customer("Arunkumar", 1001, new ArrayList<>());
+
+                mockMvc.perform(post("/api/rewards/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(new ObjectMapper().writeValueAsString(customer)))
+                                .andExpect(status().isBadRequest());
+
+                Mockito.verify(rewardService, Mockito.never()).addCustomer(Mockito.any());
+        }
+
+        /**
+         * Test for adding a customer with an incomplete transaction.
+         * Verifies each transaction is validated and a missing ID or date is
+         * rejected with status 400 instead of reaching the repository.
+         */
+        @Test
+        void testAddCustomerWithInvalidTransaction() throws Exception {
+                String today = LocalDate.now().toString();
+                String missingId = "{\"customerName\":\"Arunkumar\",\"customerId\":1001,\"transactions\":["
+                                + "{\"transactionId\":1,\"transactionDate\":\"" + today + "\",\"amount\":120.0},"
+                                + "{\"transactionDate\":\"" + today + "\",\"amount\":90.0}]}";
+                String missingDate = "{\"customerName\":\"Arunkumar\",\"customerId\":1001,\"transactions\":["
+                                + "{\"transactionId\":1,\"transactionDate\":\"" + today + "\",\"amount\":120.0},"
+                                + "{\"transactionId\":2,\"amount\":90.0}]}";
+
+                mockMvc.perform(post("/api/rewards/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(missingId))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value(
+                                                Matchers.containsString("transactions[1].transactionId")));
+                mockMvc.perform(post("/api/rewards/customers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(missingDate))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value(
+                                                Matchers.containsString("transactions[1].transactionDate")));
+
+                Mockito.verify(rewardService, Mockito.never()).addCustomer(Mockito.any());
+        }
+
         /**
          * Test for adding a transaction to a customer.
          * Verifies the transaction is correctly added and returned in response.
@@ -87,7 +143,7 @@ class RewardControllerTest {
 
                 RewardResponse response = new RewardResponse("Arunkumar", 1001, txns, monthlyRewards, 60);
 
-                Mockito.when(rewardService.calculateRewards(1001, "2025-07-01", "2025-07-31"))
+                Mockito.when(rewardService.calculateRewards(1001, "2025-07-01", "2025-07-31", true))
                                 .thenReturn(response);
 
                 log.info("Testing GET /api/rewards/customerRewards/1001 with date range...");
@@ -105,4 +161,98 @@ class RewardControllerTest {
                 log.info("GET /api/rewards/customerRewards/1001 test passed. Total Points: 60");
         }
 
+        /**
+         * Test for retrieving the reward summary without the transaction list.
+         * Ensures the transactions field is left out of the payload.
+         */
+        @Test
+        void testGetCustomerRewardsWithoutTransactions() throws Exception {
+                List<MonthlyReward> monthlyRewards = Arrays.asList(new MonthlyReward(2025, "JULY", 60));
+                RewardResponse response = new RewardResponse("Arunkumar", 1001, null, monthlyRewards, 60);
+
+                Mockito.when(rewardService.calculateRewards(1001, "2025-07-01", "2025-07-31", false))
+                                .thenReturn(response);
+
+                mockMvc.perform(get("/api/rewards/customerRewards/1001")
+                                .param("startDate", "2025-07-01")
+                                .param("endDate", "2025-07-31")
+                                .param("includeTransactions", "false")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalPoints").value(60))
+                                .andExpect(jsonPath("$.transactions").doesNotExist());
+        }
+
+        /**
+         * Test for retrieving customer rewards in the Smile binary format.
+         * Ensures the response content type follows the Accept header.
+         */
+        @Test
+        void testGetCustomerRewardsAsSmile() throws Exception {
+                List<MonthlyReward> monthlyRewards = Arrays.asList(new MonthlyReward(2025, "JULY", 60));
+                List<Transaction> txns = Arrays.asList(
+                                new Transaction(1, LocalDate.of(2025, 7, 1), 120.0, 60));
+                RewardResponse response = new RewardResponse("Arunkumar", 1001, txns, monthlyRewards, 60);
+
+                Mockito.when(rewardService.calculateRewards(1001, "2025-07-01", "2025-07-31", true))
+                                .thenReturn(response);
+
+                mockMvc.perform(get("/api/rewards/customerRewards/1001")
+                                .param("startDate", "2025-07-01")
+                                .param("endDate", "2025-07-31")
+                                .accept(WireFormatConfig.APPLICATION_SMILE_VALUE))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(WireFormatConfig.APPLICATION_SMILE_VALUE));
+        }
+
+        /**
+         * Test for retrieving a page of customer transactions.
+         * Ensures the page and the next cursor are returned.
+         */
+        @Test
+        void testGetCustomerTransactions() throws Exception {
+                List<Transaction> txns = Arrays.asList(
+                                new Transaction(1, LocalDate.of(2025, 7, 1), 120.0, 90));
+                TransactionPage page = new TransactionPage(1001, txns, "MjAyNS0wNy0wMTox");
+
+                Mockito.when(rewardService.getTransactionPage(1001, "2025-07-01", "2025-07-31", 1, null))
+                                .thenReturn(page);
+
+                mockMvc.perform(get("/api/rewards/customerRewards/1001/transactions")
+                                .param("startDate", "2025-07-01")
+                                .param("endDate", "2025-07-31")
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.transactions[0].transactionId").value(1))
+                                .andExpect(jsonPath("$.nextCursor").value("MjAyNS0wNy0wMTox"));
+        }
+
+        /**
+         * Test for opening a balance stream.
+         * Ensures the request is handled asynchronously as an event stream.
+         */
+        @Test
+        void testStreamCustomerRewards() throws Exception {
+                Mockito.when(rewardService.subscribeToBalance(1001)).thenReturn(Optional.of(new SseEmitter()));
+
+                mockMvc.perform(get("/api/rewards/customerRewards/1001/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncStarted());
+        }
+
+        /**
+         * Test for opening a balance stream of an unknown customer.
+         * Ensures 404 is returned instead of a failed event stream.
+         */
+        @Test
+        void testStreamCustomerRewardsNotFound() throws Exception {
+                Mockito.when(rewardService.subscribeToBalance(999)).thenReturn(Optional.empty());
+
+                mockMvc.perform(get("/api/rewards/customerRewards/999/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncNotStarted())
+                                .andExpect(status().isNotFound());
+        }
+
 }
@@ -0,0 +1,92 @@
+package com.rewards.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewards.config.WireFormatConfig;
+import com.rewards.model.MonthlyReward;
+import com.rewards.model.Transaction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link RewardResponse} is encoded the way the API sends it in
+ * JSON, Smile and CBOR.
+ *
+ * The mappers are the ones the API responds with: the Boot-configured JSON
+ * mapper and the mappers of the Smile and CBOR converters from
+ * {@link WireFormatConfig}. Payload sizes and serialization times are
+ * reported by {@code com.rewards.load.WireFormatBenchmark}.
+ */
+@Slf4j
+@SpringBootTest(classes = { JacksonAutoConfiguration.class, WireFormatConfig.class },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RewardResponseWireFormatTest {
+
+    private static final int TRANSACTIONS = 100;
+
+    private static RewardResponse response;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+
+    @BeforeAll
+    static void setUp() {
+        List<Transaction> txns = new ArrayList<>(TRANSACTIONS);
+        LocalDate start = LocalDate.of(2025, 5, 1);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            txns.add(new Transaction(i, start.plusDays(i % 90), 40.0 + (i % 120), 0));
+        }
+        List<MonthlyReward> monthlyRewards = Arrays.asList(
+                new MonthlyReward(2025, "MAY", 1200),
+                new MonthlyReward(2025, "JUNE", 1300),
+                new MonthlyReward(2025, "JULY", 1100));
+        response = new RewardResponse("Arunkumar", 1001, txns, monthlyRewards, 3600);
+    }
+
+    @Autowired
+    void setMappers(ObjectMapper objectMapper, MappingJackson2SmileHttpMessageConverter smileConverter,
+            MappingJackson2CborHttpMessageConverter cborConverter) {
+        jsonMapper = objectMapper;
+        smileMapper = smileConverter.getObjectMapper();
+        cborMapper = cborConverter.getObjectMapper();
+    }
+
+    /**
+     * The mappers must carry the API's settings: ISO date strings in JSON,
+     * numeric date arrays in the binary formats.
+     */
+    @Test
+    void testMappersMatchApiSettings() throws IOException {
+        String transactionDate = "/transactions/0/transactionDate";
+
+        assertEquals("2025-05-01", jsonMapper.readTree(jsonMapper.writeValueAsBytes(response))
+                .at(transactionDate).asText());
+        assertTrue(smileMapper.readTree(smileMapper.writeValueAsBytes(response)).at(transactionDate).isArray());
+        assertTrue(cborMapper.readTree(cborMapper.writeValueAsBytes(response)).at(transactionDate).isArray());
+    }
+
+    /**
+     * A Smile payload must decode back to the same response.
+     */
+    @Test
+    void testSmileRoundTrip() throws IOException {
+        RewardResponse decoded = smileMapper.readValue(smileMapper.writeValueAsBytes(response),
+                RewardResponse.class);
+
+        assertEquals(response.totalPoints(), decoded.totalPoints());
+        assertEquals(TRANSACTIONS, decoded.transactions().size());
+        assertEquals(response.transactions().get(42), decoded.transactions().get(42));
+    }
+}
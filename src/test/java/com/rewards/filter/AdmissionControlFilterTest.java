@@ -0,0 +1,215 @@
+package com.rewards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdmissionControlFilter}: per-client rate limiting,
+ * client identification, the bounded client table, the concurrency limit on
+ * reward calculation and rejection metrics. Time is read from a fake clock.
+ */
+@Slf4j
+class AdmissionControlFilterTest {
+
+    private static final String REWARDS_URI = "/api/rewards/customerRewards/1001";
+
+    private static final Set<String> API_KEYS = Set.of("client-a", "client-b");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Test to verify a client is rejected with 429 and Retry-After once its
+     * burst is used up.
+     */
+    @Test
+    void testRateLimitRejectsAfterBurst() throws Exception {
+        AdmissionControlFilter filter = filter(1, 2, 10, 100);
+
+        assertEquals(200, perform(filter, "client-a").getStatus());
+        assertEquals(200, perform(filter, "client-a").getStatus());
+        MockHttpServletResponse rejected = perform(filter, "client-a");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("Too Many Requests"));
+        log.info("testRateLimitRejectsAfterBurst passed: Retry-After {}", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Test to verify clients are limited independently of each other.
+     */
+    @Test
+    void testRateLimitIsPerClient() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1, 10, 100);
+
+        assertEquals(200, perform(filter, "client-a").getStatus());
+        assertEquals(429, perform(filter, "client-a").getStatus());
+        assertEquals(200, perform(filter, "client-b").getStatus());
+    }
+
+    /**
+     * Test to verify reward calculation is rejected while the concurrency limit
+     * is reached, and the rejection is counted.
+     */
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        AdmissionControlFilter filter = filter(100, 100, 1, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // The chain of the first request issues a second one while the first is still in flight
+        filter.doFilter(request("client-a"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(request("client-b"), nested, new MockFilterChain()));
+
+        assertEquals(429, nested.getStatus());
+        assertEquals(1.0, registry.get("rewards.admission.rejected").tag("reason", "concurrency")
+                .functionCounter().count());
+        assertEquals(200, perform(filter, "client-b").getStatus());
+    }
+
+    /**
+     * Test to verify the transactions page and balance stream are not counted
+     * against the concurrency limit of reward calculation.
+     */
+    @Test
+    void testConcurrencyLimitOnlyCoversRewardCalculation() throws Exception {
+        AdmissionControlFilter filter = filter(100, 100, 1, 100);
+        MockHttpServletResponse page = new MockHttpServletResponse();
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+
+        filter.doFilter(request("client-a"), new MockHttpServletResponse(), (req, res) -> {
+            filter.doFilter(request("client-b", REWARDS_URI + "/transactions"), page, new MockFilterChain());
+            filter.doFilter(request("client-b", REWARDS_URI + "/stream"), stream, new MockFilterChain());
+        });
+
+        assertEquals(200, page.getStatus());
+        assertEquals(200, stream.getStatus());
+    }
+
+    /**
+     * Test to verify unknown API keys do not get their own bucket, so rotating
+     * keys from one address stays limited by that address.
+     */
+    @Test
+    void testUnknownApiKeysShareTheAddressBucket() throws Exception {
+        AdmissionControlFilter filter = filter(1, 2, 10, 100);
+
+        assertEquals(200, perform(filter, UUID.randomUUID().toString()).getStatus());
+        assertEquals(200, perform(filter, UUID.randomUUID().toString()).getStatus());
+        assertEquals(429, perform(filter, UUID.randomUUID().toString()).getStatus());
+        // A known key is limited on its own
+        assertEquals(200, perform(filter, "client-a").getStatus());
+    }
+
+    /**
+     * Test to verify new clients are rejected while the client table is full
+     * of active buckets, and admitted once idle buckets are swept.
+     */
+    @Test
+    void testClientTableIsBounded() throws Exception {
+        AdmissionControlFilter filter = filter(1, 2, 10, 2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        assertEquals(200, performFrom(filter, "10.0.0.1").getStatus());
+        assertEquals(200, performFrom(filter, "10.0.0.2").getStatus());
+        MockHttpServletResponse rejected = performFrom(filter, "10.0.0.3");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals(1.0, registry.get("rewards.admission.rejected").tag("reason", "client_capacity")
+                .functionCounter().count());
+        assertEquals(2.0, registry.get("rewards.admission.clients").gauge().value());
+        // Known clients keep being served
+        assertEquals(200, performFrom(filter, "10.0.0.1").getStatus());
+
+        // Once the buckets have refilled they are evicted by the next sweep
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(200, performFrom(filter, "10.0.0.3").getStatus());
+        assertEquals(1.0, registry.get("rewards.admission.clients").gauge().value());
+    }
+
+    /**
+     * Test to verify the client table is swept at most once per interval, not
+     * on every request from a new client.
+     */
+    @Test
+    void testSweepIsRateLimited() throws Exception {
+        // Buckets refill 100 ms after their last request
+        AdmissionControlFilter filter = filter(10, 1, 10, 1);
+
+        assertEquals(200, performFrom(filter, "10.0.0.1").getStatus());
+        clock.set(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(200, performFrom(filter, "10.0.0.2").getStatus());
+
+        // The bucket of 10.0.0.2 is idle again, but the last sweep ran half a second ago
+        clock.set(TimeUnit.MILLISECONDS.toNanos(5500));
+        assertEquals(429, performFrom(filter, "10.0.0.3").getStatus());
+
+        clock.set(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(200, performFrom(filter, "10.0.0.3").getStatus());
+    }
+
+    /**
+     * Test to verify requests outside the rewards API are not limited.
+     */
+    @Test
+    void testOtherPathsAreNotFiltered() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1, 1, 100);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private AdmissionControlFilter filter(double permitsPerSecond, int burst, int maxConcurrent, int maxClients) {
+        return new AdmissionControlFilter(true, permitsPerSecond, burst, maxConcurrent, maxClients, API_KEYS,
+                objectMapper, clock::get);
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, String apiKey) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(apiKey), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletResponse performFrom(AdmissionControlFilter filter, String remoteAddr)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", REWARDS_URI);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        return request(apiKey, REWARDS_URI);
+    }
+
+    private static MockHttpServletRequest request(String apiKey, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(AdmissionControlFilter.API_KEY_HEADER, apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,239 @@
+package com.rewards.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP load driver for a locally running rewards API.
+ *
+ * Every simulated client is a virtual thread issuing requests back to back
+ * over its own connection, so 10k concurrent clients cost the driver little.
+ * Each request is picked at random from a mix of transaction writes,
+ * transaction page reads and reward summary reads. Latencies recorded after
+ * the warm-up are reported as throughput and percentiles per operation and
+ * in total.
+ *
+ * The customers are expected to exist already, normally generated by the
+ * loadtest profile; --seed=true posts a few transactions per customer first
+ * for servers started without it.
+ *
+ * Usage, after ./mvnw package -DskipTests:
+ * java -cp target/test-classes com.rewards.load.LoadDriver --url=http://localhost:8080 --concurrency=10000
+ *
+ * Options (defaults in brackets): --url [http://localhost:8080],
+ * --customers [1000], --first-customer-id [1], --concurrency [100],
+ * --duration-seconds [30], --warmup-seconds [10], --write-ratio [0.1],
+ * --page-ratio [0.2], --page-size [100], --seed [false].
+ */
+public final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * IDs of written transactions start above anything the generator creates.
+     */
+    private static final int FIRST_WRITTEN_TRANSACTION_ID = 1_000_000;
+
+    private enum Operation {
+        WRITE, PAGE, REWARDS
+    }
+
+    private final String url;
+    private final int customers;
+    private final int firstCustomerId;
+    private final int concurrency;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final double writeRatio;
+    private final double pageRatio;
+    private final int pageSize;
+    private final boolean seed;
+
+    private final HttpClient client;
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger nextTransactionId = new AtomicInteger(FIRST_WRITTEN_TRANSACTION_ID);
+
+    private LoadDriver(Map<String, String> options) {
+        this.url = options.getOrDefault("url", "http://localhost:8080");
+        this.customers = Integer.parseInt(options.getOrDefault("customers", "1000"));
+        this.firstCustomerId = Integer.parseInt(options.getOrDefault("first-customer-id", "1"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration-seconds", "30")));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        this.writeRatio = Double.parseDouble(options.getOrDefault("write-ratio", "0.1"));
+        this.pageRatio = Double.parseDouble(options.getOrDefault("page-ratio", "0.2"));
+        this.pageSize = Integer.parseInt(options.getOrDefault("page-size", "100"));
+        this.seed = Boolean.parseBoolean(options.getOrDefault("seed", "false"));
+        if (writeRatio < 0 || pageRatio < 0 || writeRatio + pageRatio > 1) {
+            throw new IllegalArgumentException("Write and page ratios must be non-negative and add up to at most 1.");
+        }
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+            errors.put(operation, new LongAdder());
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        if (seed) {
+            seedCustomers();
+        }
+        System.out.printf("Running %d clients against %s for %ds after %ds warm-up "
+                        + "(writes %.0f%%, page reads %.0f%%, reward reads %.0f%%)%n", concurrency, url,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+                writeRatio * 100, pageRatio * 100, (1 - writeRatio - pageRatio) * 100);
+
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long measureUntil = measureFrom + durationNanos;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> runClient(measureFrom, measureUntil));
+            }
+        }
+        report();
+    }
+
+    private void runClient(long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            int customerId = firstCustomerId + random.nextInt(customers);
+            Operation operation = nextOperation(random.nextDouble());
+            HttpRequest request = switch (operation) {
+                case WRITE -> writeRequest(customerId, random);
+                case PAGE -> pageRequest(customerId);
+                case REWARDS -> rewardsRequest(customerId);
+            };
+            long start = System.nanoTime();
+            boolean ok = send(request);
+            now = System.nanoTime();
+            if (start >= measureFrom && now <= measureUntil) {
+                histograms.get(operation).record(now - start);
+                if (!ok) {
+                    errors.get(operation).increment();
+                }
+            }
+        }
+    }
+
+    private Operation nextOperation(double pick) {
+        if (pick < writeRatio) {
+            return Operation.WRITE;
+        }
+        return pick < writeRatio + pageRatio ? Operation.PAGE : Operation.REWARDS;
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest rewardsRequest(int customerId) {
+        LocalDate today = LocalDate.now();
+        return HttpRequest.newBuilder(URI.create(url + "/api/rewards/customerRewards/" + customerId
+                        + "?startDate=" + today.minusMonths(3) + "&endDate=" + today))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest pageRequest(int customerId) {
+        LocalDate today = LocalDate.now();
+        return HttpRequest.newBuilder(URI.create(url + "/api/rewards/customerRewards/" + customerId
+                        + "/transactions?startDate=" + today.minusMonths(3) + "&endDate=" + today
+                        + "&limit=" + pageSize))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest writeRequest(int customerId, ThreadLocalRandom random) {
+        // Amounts spread over all three reward tiers
+        double amount = Math.round(random.nextDouble(1.0, 250.0) * 100) / 100.0;
+        String body = transactionJson(nextTransactionId.getAndIncrement(), LocalDate.now(), amount);
+        return HttpRequest.newBuilder(URI.create(url + "/api/rewards/customers/" + customerId + "/transactions"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void seedCustomers() {
+        System.out.printf("Seeding %d customers%n", customers);
+        LocalDate today = LocalDate.now();
+        for (int id = firstCustomerId; id < firstCustomerId + customers; id++) {
+            String body = "{\"customerName\":\"Load Customer " + id + "\",\"customerId\":" + id
+                    + ",\"transactions\":["
+                    + transactionJson(1, today.minusDays(5), 120.0) + ","
+                    + transactionJson(2, today.minusDays(35), 90.0) + ","
+                    + transactionJson(3, today.minusDays(65), 45.0) + "]}";
+            // Customers left over from an earlier run are rejected as duplicates, which is fine
+            send(HttpRequest.newBuilder(URI.create(url + "/api/rewards/customers"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+    }
+
+    private static String transactionJson(int id, LocalDate date, double amount) {
+        return "{\"transactionId\":" + id + ",\"transactionDate\":\"" + date + "\",\"amount\":" + amount + "}";
+    }
+
+    private void report() {
+        LatencyHistogram total = new LatencyHistogram();
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = histograms.get(operation);
+            long operationErrors = errors.get(operation).sum();
+            total.add(histogram);
+            totalErrors += operationErrors;
+            report(operation.name().toLowerCase(), histogram, operationErrors);
+        }
+        report("total", total, totalErrors);
+    }
+
+    private void report(String label, LatencyHistogram histogram, long errorCount) {
+        long requests = histogram.count();
+        double seconds = durationNanos / 1e9;
+        System.out.printf("%-8s requests=%d errors=%d throughput=%.1f req/s%n", label, requests, errorCount,
+                requests / seconds);
+        System.out.printf("%-8s latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n", label,
+                histogram.percentileMicros(50) / 1000.0, histogram.percentileMicros(90) / 1000.0,
+                histogram.percentileMicros(99) / 1000.0, histogram.percentileMicros(99.9) / 1000.0,
+                histogram.maxMicros() / 1000.0);
+    }
+}
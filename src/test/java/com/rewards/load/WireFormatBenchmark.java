@@ -0,0 +1,123 @@
+package com.rewards.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewards.config.WireFormatConfig;
+import com.rewards.dto.RewardResponse;
+import com.rewards.model.MonthlyReward;
+import com.rewards.model.Transaction;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares bytes on the wire and serialization time of a
+ * {@link RewardResponse} across JSON, gzipped JSON, Smile and CBOR for a
+ * customer with many transactions, and prints the results.
+ *
+ * The mappers are the ones the API responds with: the Boot-configured JSON
+ * mapper and the mappers of the Smile and CBOR converters from
+ * {@link WireFormatConfig}, taken from a context without a web server or file
+ * logging.
+ *
+ * Usage, after ./mvnw test-compile:
+ * java -cp target/test-classes:target/classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) com.rewards.load.WireFormatBenchmark
+ *
+ * Options (defaults in brackets): --transactions [10000],
+ * --warmup-rounds [20], --rounds [50].
+ */
+public final class WireFormatBenchmark {
+
+    private final int transactions;
+    private final int warmupRounds;
+    private final int rounds;
+
+    private WireFormatBenchmark(Map<String, String> options) {
+        this.transactions = Integer.parseInt(options.getOrDefault("transactions", "10000"));
+        this.warmupRounds = Integer.parseInt(options.getOrDefault("warmup-rounds", "20"));
+        this.rounds = Integer.parseInt(options.getOrDefault("rounds", "50"));
+        if (transactions < 1 || warmupRounds < 0 || rounds < 1) {
+            throw new IllegalArgumentException("Transactions and rounds must be positive.");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new WireFormatBenchmark(options).run();
+    }
+
+    private void run() throws IOException {
+        // Devtools would otherwise restart main without the benchmark options
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                JacksonAutoConfiguration.class, WireFormatConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--logging.file.name=")) {
+            ObjectMapper json = context.getBean(ObjectMapper.class);
+            ObjectMapper smile = context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            ObjectMapper cbor = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            RewardResponse response = response();
+
+            System.out.printf("Payload bytes for %d transactions: json=%d json+gzip=%d smile=%d cbor=%d%n",
+                    transactions, json.writeValueAsBytes(response).length,
+                    gzip(json.writeValueAsBytes(response)).length, smile.writeValueAsBytes(response).length,
+                    cbor.writeValueAsBytes(response).length);
+            System.out.printf("Average serialization time over %d rounds: json=%d us smile=%d us cbor=%d us%n",
+                    rounds, averageNanos(json, response) / 1_000, averageNanos(smile, response) / 1_000,
+                    averageNanos(cbor, response) / 1_000);
+        }
+    }
+
+    private RewardResponse response() {
+        List<Transaction> txns = new ArrayList<>(transactions);
+        LocalDate start = LocalDate.of(2025, 5, 1);
+        for (int i = 0; i < transactions; i++) {
+            txns.add(new Transaction(i, start.plusDays(i % 90), 40.0 + (i % 120), 0));
+        }
+        List<MonthlyReward> monthlyRewards = List.of(
+                new MonthlyReward(2025, "MAY", 1200),
+                new MonthlyReward(2025, "JUNE", 1300),
+                new MonthlyReward(2025, "JULY", 1100));
+        return new RewardResponse("Arunkumar", 1001, txns, monthlyRewards, 3600);
+    }
+
+    private long averageNanos(ObjectMapper mapper, RewardResponse response) throws IOException {
+        for (int i = 0; i < warmupRounds; i++) {
+            mapper.writeValueAsBytes(response);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            mapper.writeValueAsBytes(response);
+        }
+        return (System.nanoTime() - start) / rounds;
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,105 @@
+package com.rewards.loadtest;
+
+import com.rewards.model.*;
+import com.rewards.utils.RewardCalculator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SyntheticDataGenerator}: determinism, date window,
+ * heavy hitters and seasonal weighting.
+ */
+@Slf4j
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 12, 15);
+
+    private static final double[] FLAT = { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1 };
+
+    /**
+     * Test to verify the same seed always produces the same customer.
+     */
+    @Test
+    void testSameSeedProducesSameCustomer() {
+        Customer first = new SyntheticDataGenerator(7, 20, 0.1, 500, 12, FLAT).generateCustomer(42, TODAY);
+        Customer second = new SyntheticDataGenerator(7, 20, 0.1, 500, 12, FLAT).generateCustomer(42, TODAY);
+        Customer otherSeed = new SyntheticDataGenerator(8, 20, 0.1, 500, 12, FLAT).generateCustomer(42, TODAY);
+
+        assertEquals(first.customerName(), second.customerName());
+        assertEquals(first.transactions(), second.transactions());
+        assertNotEquals(first.transactions(), otherSeed.transactions());
+    }
+
+    /**
+     * Test to verify transactions fall inside the month window, are scored and
+     * never lie in the future.
+     */
+    @Test
+    void testTransactionsStayInWindow() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(1, 50, 0, 1, 3, FLAT);
+
+        for (int id = 1; id <= 100; id++) {
+            for (Transaction tx : generator.generateCustomer(id, TODAY).transactions()) {
+                assertFalse(tx.transactionDate().isAfter(TODAY));
+                assertFalse(tx.transactionDate().isBefore(LocalDate.of(2025, 10, 1)));
+                assertTrue(tx.amount() >= 1.0);
+                assertEquals(RewardCalculator.calculatePoints(tx.amount()), tx.points());
+            }
+        }
+    }
+
+    /**
+     * Test to verify heavy hitters get many more transactions than regular
+     * customers.
+     */
+    @Test
+    void testHeavyHitters() {
+        Customer heavy = new SyntheticDataGenerator(1, 10, 1.0, 2000, 12, FLAT).generateCustomer(1, TODAY);
+        Customer regular = new SyntheticDataGenerator(1, 10, 0.0, 2000, 12, FLAT).generateCustomer(1, TODAY);
+
+        assertTrue(heavy.transactions().size() >= 1000);
+        assertTrue(regular.transactions().size() <= 15);
+        log.info("testHeavyHitters passed: heavy={}, regular={}", heavy.transactions().size(),
+                regular.transactions().size());
+    }
+
+    /**
+     * Test to verify seasonal weights shift transactions towards heavy months.
+     */
+    @Test
+    void testSeasonalWeights() {
+        double[] decemberPeak = { 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 10 };
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(3, 100, 0, 1, 12, decemberPeak);
+
+        int december = 0;
+        int total = 0;
+        for (int id = 1; id <= 200; id++) {
+            for (Transaction tx : generator.generateCustomer(id, TODAY).transactions()) {
+                total++;
+                if (tx.transactionDate().getMonth() == Month.DECEMBER) {
+                    december++;
+                }
+            }
+        }
+        // December carries 10 of the 21 weight units
+        assertTrue(december > total / 3);
+    }
+
+    /**
+     * Test to verify invalid settings are rejected.
+     */
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator(1, 10, 1.5, 100, 12, FLAT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticDataGenerator(1, 10, 0.1, 100, 12, new double[] { 1 }));
+    }
+}
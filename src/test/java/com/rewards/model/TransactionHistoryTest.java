@@ -0,0 +1,70 @@
+package com.rewards.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransactionHistory: appends leave earlier histories
+ * unchanged, whether they extend the backing array or copy it.
+ */
+@Slf4j
+class TransactionHistoryTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2025, 7, 1);
+
+    /**
+     * Test to verify appends build longer histories and leave earlier ones
+     * unchanged, across growth of the backing array.
+     */
+    @Test
+    void testAppendLeavesEarlierHistoriesUnchanged() {
+        List<TransactionHistory> versions = new ArrayList<>();
+        TransactionHistory history = TransactionHistory.of(List.of());
+        for (int i = 1; i <= 50; i++) {
+            history = history.append(tx(i));
+            versions.add(history);
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(i + 1, versions.get(i).size());
+            assertEquals(tx(i + 1), versions.get(i).get(i));
+        }
+        assertEquals(List.of(tx(1), tx(2), tx(3)), versions.get(2));
+    }
+
+    /**
+     * Test to verify appending to an older history does not overwrite what a
+     * newer history already holds.
+     */
+    @Test
+    void testAppendToOlderHistoryCopies() {
+        TransactionHistory base = TransactionHistory.of(List.of(tx(1)));
+        TransactionHistory first = base.append(tx(2));
+        TransactionHistory second = base.append(tx(3));
+
+        assertEquals(List.of(tx(1), tx(2)), first);
+        assertEquals(List.of(tx(1), tx(3)), second);
+    }
+
+    /**
+     * Test to verify histories are not copied again and cannot be modified.
+     */
+    @Test
+    void testOfReturnsHistoryUnchangedAndIsUnmodifiable() {
+        TransactionHistory history = TransactionHistory.of(List.of(tx(1)));
+
+        assertSame(history, TransactionHistory.of(history));
+        assertThrows(UnsupportedOperationException.class, () -> history.add(tx(2)));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1));
+        assertThrows(NullPointerException.class, () -> TransactionHistory.of(Arrays.asList(tx(1), null)));
+    }
+
+    private static Transaction tx(int id) {
+        return new Transaction(id, JULY_1.plusDays(id % 30), 60.0 + id, id);
+    }
+}
@@ -0,0 +1,177 @@
+package com.rewards.repository;
+
+import com.rewards.model.*;
+import com.rewards.utils.TransactionCursor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CustomerRepository: the date-ordered transaction index and
+ * the snapshot-based transaction appends.
+ */
+@Slf4j
+class CustomerRepositoryTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2025, 7, 1);
+
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void init() {
+        customerRepository = new CustomerRepository();
+        List<Transaction> txns = new ArrayList<>(Arrays.asList(
+                new Transaction(5, JULY_1.plusDays(2), 120.0, 90),
+                new Transaction(2, JULY_1, 90.0, 40),
+                new Transaction(9, JULY_1.plusDays(40), 75.0, 25),
+                new Transaction(1, JULY_1, 60.0, 10)));
+        customerRepository.save(new Customer("Arunkumar", 1001, txns));
+    }
+
+    /**
+     * Test to verify pages are returned in date and transaction ID order.
+     */
+    @Test
+    void testFindTransactionsPageOrdersByDateAndId() {
+        List<Transaction> page = customerRepository.findTransactionsPage(1001, JULY_1, JULY_1.plusDays(60),
+                null, 10);
+
+        assertEquals(Arrays.asList(1, 2, 5, 9), ids(page));
+        log.info("testFindTransactionsPageOrdersByDateAndId passed: {}", ids(page));
+    }
+
+    /**
+     * Test to verify a cursor resumes right after the last returned transaction.
+     */
+    @Test
+    void testFindTransactionsPageResumesAfterCursor() {
+        List<Transaction> first = customerRepository.findTransactionsPage(1001, JULY_1, JULY_1.plusDays(60),
+                null, 2);
+        TransactionCursor cursor = TransactionCursor.decode(TransactionCursor.of(first.get(1)).encode());
+        List<Transaction> second = customerRepository.findTransactionsPage(1001, JULY_1, JULY_1.plusDays(60),
+                cursor, 2);
+
+        assertEquals(Arrays.asList(1, 2), ids(first));
+        assertEquals(Arrays.asList(5, 9), ids(second));
+    }
+
+    /**
+     * Test to verify the date range bounds the page and transactions appended
+     * after the first save are indexed.
+     */
+    @Test
+    void testFindTransactionsPageHonoursRangeAndNewTransactions() {
+        customerRepository.appendTransaction(1001, new Transaction(3, JULY_1.plusDays(2), 55.0, 5));
+
+        List<Transaction> page = customerRepository.findTransactionsPage(1001, JULY_1.plusDays(1),
+                JULY_1.plusDays(30), null, 10);
+
+        assertEquals(Arrays.asList(3, 5), ids(page));
+    }
+
+    /**
+     * Test to verify an unknown customer yields an empty page.
+     */
+    @Test
+    void testFindTransactionsPageUnknownCustomer() {
+        assertTrue(customerRepository.findTransactionsPage(42, JULY_1, JULY_1, null, 10).isEmpty());
+    }
+
+    /**
+     * Test to verify an append publishes a new snapshot and leaves snapshots
+     * already handed out unchanged.
+     */
+    @Test
+    void testAppendTransactionReplacesSnapshot() {
+        Customer before = customerRepository.findById(1001).get();
+        Customer after = customerRepository.appendTransaction(1001,
+                new Transaction(3, JULY_1.plusDays(2), 55.0, 5)).get();
+
+        assertEquals(4, before.transactions().size());
+        assertEquals(5, after.transactions().size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> after.transactions().add(new Transaction(4, JULY_1, 10.0, 0)));
+        assertFalse(customerRepository.appendTransaction(42, new Transaction(1, JULY_1, 10.0, 0)).isPresent());
+    }
+
+    /**
+     * Test to verify duplicate transaction IDs are rejected on save and append.
+     */
+    @Test
+    void testDuplicateTransactionIdsRejected() {
+        List<Transaction> duplicates = Arrays.asList(
+                new Transaction(1, JULY_1, 60.0, 10),
+                new Transaction(1, JULY_1, 70.0, 20));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> customerRepository.save(new Customer("Ravi", 1002, duplicates)));
+        assertThrows(IllegalArgumentException.class,
+                () -> customerRepository.appendTransaction(1001, new Transaction(5, JULY_1, 70.0, 20)));
+        assertFalse(customerRepository.existsById(1002));
+        assertEquals(4, customerRepository.findById(1001).get().transactions().size());
+    }
+
+    /**
+     * Test to verify saving a customer whose ID is taken fails and keeps the
+     * stored customer.
+     */
+    @Test
+    void testSaveRejectsExistingCustomer() {
+        Customer other = new Customer("Ravi", 1001, List.of(new Transaction(1, JULY_1, 60.0, 10)));
+
+        assertThrows(IllegalArgumentException.class, () -> customerRepository.save(other));
+        assertEquals("Arunkumar", customerRepository.findById(1001).get().customerName());
+    }
+
+    /**
+     * Test to verify concurrent appends and reads neither fail nor lose
+     * transactions, and every append reaches the index.
+     */
+    @Test
+    void testConcurrentAppendsAndReads() throws Exception {
+        int threads = 8;
+        int appendsPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int firstId = 100 + t * appendsPerThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        customerRepository.appendTransaction(1001,
+                                new Transaction(firstId + i, JULY_1.plusDays(i % 30), 80.0, 30));
+                        int points = customerRepository.findById(1001).get().transactions().stream()
+                                .mapToInt(Transaction::points).sum();
+                        assertTrue(points > 0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expected = 4 + threads * appendsPerThread;
+        assertEquals(expected, customerRepository.findById(1001).get().transactions().size());
+        assertEquals(expected, customerRepository.findTransactionsPage(1001, JULY_1, JULY_1.plusDays(60),
+                null, expected + 1).size());
+    }
+
+    private static List<Integer> ids(List<Transaction> txns) {
+        List<Integer> ids = new ArrayList<>();
+        txns.forEach(tx -> ids.add(tx.transactionId()));
+        return ids;
+    }
+}
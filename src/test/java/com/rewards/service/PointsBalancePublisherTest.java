@@ -0,0 +1,311 @@
+package com.rewards.service;
+
+import com.rewards.dto.PointsBalanceEvent;
+import com.rewards.service.PointsBalancePublisher.Balance;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PointsBalancePublisher: ordering, dropping of stale updates,
+ * bounded buffering with coalescing, re-scheduling and removal of failed
+ * subscribers. Dispatching is driven by hand so the buffer state is
+ * deterministic.
+ */
+@Slf4j
+class PointsBalancePublisherTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    private ManualExecutor dispatcher;
+
+    private List<RecordingEmitter> emitters;
+
+    private PointsBalancePublisher publisher;
+
+    @BeforeEach
+    void init() {
+        dispatcher = new ManualExecutor();
+        emitters = new ArrayList<>();
+        publisher = new PointsBalancePublisher(60_000, BUFFER_SIZE, dispatcher, timeout -> {
+            RecordingEmitter emitter = new RecordingEmitter(timeout);
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    /**
+     * Test to verify the initial balance is sent first, followed by updates in
+     * publishing order.
+     */
+    @Test
+    void testSnapshotThenUpdatesInOrder() {
+        publisher.subscribe(1001, () -> new Balance(2, 100));
+        publisher.publish(1001, new Balance(3, 110));
+        publisher.publish(1001, new Balance(4, 130));
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 100, 0),
+                new PointsBalanceEvent(1001, 10, 110, 1),
+                new PointsBalanceEvent(1001, 20, 130, 1)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify updates beyond the buffer size are coalesced into one
+     * event sent after the buffered ones.
+     */
+    @Test
+    void testOverflowIsCoalesced() {
+        publisher.subscribe(1001, () -> new Balance(0, 100));
+        for (int version = 1; version <= 5; version++) {
+            publisher.publish(1001, new Balance(version, 100 + version * 10));
+        }
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 100, 0),
+                new PointsBalanceEvent(1001, 10, 110, 1),
+                new PointsBalanceEvent(1001, 10, 120, 1),
+                new PointsBalanceEvent(1001, 30, 150, 3)), emitters.get(0).events);
+        log.info("testOverflowIsCoalesced passed: {}", emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify an update offered while an overflow is pending is merged
+     * into it rather than overtaking it through the freed buffer slot.
+     */
+    @Test
+    void testUpdatesAfterOverflowStayBehindIt() {
+        publisher.subscribe(1001, () -> new Balance(0, 0));
+        for (int version = 1; version <= 3; version++) {
+            publisher.publish(1001, new Balance(version, version * 10));
+        }
+        // Publish once more right after the first buffered update is sent,
+        // while the overflow is still pending
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.onSend = () -> {
+            if (emitter.events.size() == 2) {
+                publisher.publish(1001, new Balance(4, 40));
+            }
+        };
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 0, 0),
+                new PointsBalanceEvent(1001, 10, 10, 1),
+                new PointsBalanceEvent(1001, 10, 20, 1),
+                new PointsBalanceEvent(1001, 20, 40, 2)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify an update published after a newer one, as when two
+     * writers interleave, is dropped instead of rolling the total back.
+     */
+    @Test
+    void testStaleUpdateIsDropped() {
+        publisher.subscribe(1001, () -> new Balance(1, 100));
+        // Writer of version 3 publishes before the writer of version 2
+        publisher.publish(1001, new Balance(3, 140));
+        publisher.publish(1001, new Balance(2, 115));
+        dispatcher.runAll();
+
+        publisher.publish(1001, new Balance(2, 115));
+        publisher.publish(1001, new Balance(4, 150));
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 100, 0),
+                new PointsBalanceEvent(1001, 40, 140, 2),
+                new PointsBalanceEvent(1001, 10, 150, 1)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify a stale update is also dropped while the subscriber is
+     * behind and its updates are being coalesced.
+     */
+    @Test
+    void testStaleUpdateIsNotCoalesced() {
+        publisher.subscribe(1001, () -> new Balance(0, 0));
+        for (int version = 1; version <= 3; version++) {
+            publisher.publish(1001, new Balance(version, version * 10));
+        }
+        publisher.publish(1001, new Balance(5, 50));
+        publisher.publish(1001, new Balance(4, 40));
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 0, 0),
+                new PointsBalanceEvent(1001, 10, 10, 1),
+                new PointsBalanceEvent(1001, 10, 20, 1),
+                new PointsBalanceEvent(1001, 30, 50, 3)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify a drained subscriber is scheduled again by the next
+     * update.
+     */
+    @Test
+    void testRescheduledAfterDrain() {
+        publisher.subscribe(1001, () -> new Balance(0, 100));
+        dispatcher.runAll();
+        assertEquals(0, dispatcher.pending());
+
+        publisher.publish(1001, new Balance(1, 125));
+        assertEquals(1, dispatcher.pending());
+        dispatcher.runAll();
+
+        assertEquals(new PointsBalanceEvent(1001, 25, 125, 1), emitters.get(0).events.get(1));
+    }
+
+    /**
+     * Test to verify the balance is read after the subscriber is registered,
+     * so a transaction committed in between is still delivered.
+     */
+    @Test
+    void testSubscriberRegisteredBeforeBalanceIsRead() {
+        publisher.subscribe(1001, () -> {
+            // A transaction committed after the balance was read but
+            // published before the subscriber started
+            assertTrue(publisher.hasSubscribers(1001));
+            publisher.publish(1001, new Balance(2, 130));
+            return new Balance(1, 100);
+        });
+        dispatcher.runAll();
+
+        assertEquals(List.of(
+                new PointsBalanceEvent(1001, 0, 100, 0),
+                new PointsBalanceEvent(1001, 30, 130, 1)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify an update already covered by the initial balance is not
+     * counted a second time.
+     */
+    @Test
+    void testUpdateCoveredBySnapshotIsDropped() {
+        publisher.subscribe(1001, () -> {
+            publisher.publish(1001, new Balance(2, 130));
+            return new Balance(2, 130);
+        });
+        dispatcher.runAll();
+
+        assertEquals(List.of(new PointsBalanceEvent(1001, 0, 130, 0)), emitters.get(0).events);
+    }
+
+    /**
+     * Test to verify a subscriber whose connection fails is removed and other
+     * subscribers keep receiving updates.
+     */
+    @Test
+    void testFailedSubscriberIsRemoved() {
+        publisher.subscribe(1001, () -> new Balance(0, 100));
+        publisher.subscribe(1001, () -> new Balance(0, 100));
+        emitters.get(0).failing = true;
+        dispatcher.runAll();
+
+        publisher.publish(1001, new Balance(1, 110));
+        dispatcher.runAll();
+
+        assertTrue(emitters.get(0).events.isEmpty());
+        assertEquals(2, emitters.get(1).events.size());
+        assertTrue(publisher.hasSubscribers(1001));
+
+        emitters.get(1).failing = true;
+        publisher.publish(1001, new Balance(2, 120));
+        dispatcher.runAll();
+        assertFalse(publisher.hasSubscribers(1001));
+    }
+
+    /**
+     * Emitter that records the balance events sent to it.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<PointsBalanceEvent> events = new ArrayList<>();
+
+        private boolean failing;
+
+        private Runnable onSend;
+
+        private RecordingEmitter(Long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(PointsBalanceEvent.class::isInstance)
+                    .map(PointsBalanceEvent.class::cast)
+                    .forEach(events::add);
+            if (onSend != null) {
+                onSend.run();
+            }
+        }
+    }
+
+    /**
+     * Executor that queues tasks until the test runs them.
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        private int pending() {
+            return tasks.size();
+        }
+
+        private void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> remaining = new ArrayList<>(tasks);
+            tasks.clear();
+            return remaining;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
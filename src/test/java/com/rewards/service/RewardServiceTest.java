@@ -2,11 +2,12 @@ package com.rewards.service;
 
 import com.rewards.model.*;
 import com.rewards.repository.CustomerRepository;
-import com.rewards.utils.RewardCalculator;
+import com.rewards.utils.TransactionCursor;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.rewards.dto.RewardResponse;
+import com.rewards.dto.TransactionPage;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 import java.time.LocalDate;
@@ -15,6 +16,8 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +31,9 @@ class RewardServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private PointsBalancePublisher balancePublisher;
+
     @InjectMocks
     private RewardService rewardService;
 
@@ -55,9 +61,9 @@ class RewardServiceTest {
 
         Customer result = rewardService.addCustomer(customer);
         assertNotNull(result);
-        assertEquals("Arunkumar", result.getCustomerName());
+        assertEquals("Arunkumar", result.customerName());
         verify(customerRepository, times(1)).save(customer);
-        log.info("testAddCustomer passed: Customer '{}' added successfully.", result.getCustomerName());
+        log.info("testAddCustomer passed: Customer '{}' added successfully.", result.customerName());
     }
 
     /**
@@ -66,18 +72,55 @@ class RewardServiceTest {
     @Test
     void testAddTransaction() {
         Transaction tx = new Transaction(3, LocalDate.now().minusDays(2), 120.0, 0);
-        Customer customer = new Customer("Arunkumar", 1001, new ArrayList<>());
-
-        when(customerRepository.findById(2)).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any())).thenReturn(customer);
-
-        tx.setPoints(RewardCalculator.calculatePoints(tx.getAmount()));
+        when(customerRepository.appendTransaction(eq(2), any())).thenAnswer(invocation -> Optional.of(
+                new Customer("Arunkumar", 2, List.of(invocation.<Transaction>getArgument(1)))));
 
         Customer result = rewardService.addTransaction(2, tx);
-        assertEquals(1, result.getTransactions().size());
-        assertTrue(result.getTransactions().get(0).getPoints() > 0);
+        assertEquals(1, result.transactions().size());
+        assertTrue(result.transactions().get(0).points() > 0);
         log.info("testAddTransaction passed: Transaction added with {} points.",
-                result.getTransactions().get(0).getPoints());
+                result.transactions().get(0).points());
+    }
+
+    /**
+     * Test to verify adding a transaction to an unknown customer is rejected.
+     */
+    @Test
+    void testAddTransactionUnknownCustomer() {
+        Transaction tx = new Transaction(3, LocalDate.now().minusDays(2), 120.0, 0);
+        when(customerRepository.appendTransaction(eq(2), any())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> rewardService.addTransaction(2, tx));
+    }
+
+    /**
+     * Test to verify balance subscribers are notified when a transaction is added.
+     */
+    @Test
+    void testAddTransactionPublishesBalance() {
+        Transaction existing = new Transaction(1, LocalDate.now().minusDays(5), 90.0, 40);
+        Transaction tx = new Transaction(2, LocalDate.now().minusDays(1), 120.0, 0);
+
+        when(customerRepository.appendTransaction(eq(1001), any())).thenAnswer(invocation -> Optional.of(
+                new Customer("Arunkumar", 1001, List.of(existing, invocation.<Transaction>getArgument(1)))));
+        when(balancePublisher.hasSubscribers(1001)).thenReturn(true);
+
+        rewardService.addTransaction(1001, tx);
+
+        verify(balancePublisher, times(1)).publish(1001, new PointsBalancePublisher.Balance(2, 130));
+        log.info("testAddTransactionPublishesBalance passed: version 2, total 130.");
+    }
+
+    /**
+     * Test to verify subscribing to an unknown customer's balance yields no
+     * stream.
+     */
+    @Test
+    void testSubscribeToBalanceUnknownCustomer() {
+        when(customerRepository.existsById(999)).thenReturn(false);
+
+        assertFalse(rewardService.subscribeToBalance(999).isPresent());
+        verify(balancePublisher, never()).subscribe(any(), any());
     }
 
     /**
@@ -97,12 +140,47 @@ class RewardServiceTest {
 
         RewardResponse response = rewardService.calculateRewards(3, startDate, endDate);
 
-        assertEquals("Arunkumar", response.getCustomerName());
-        assertTrue(response.getTotalPoints() > 0);
-        assertFalse(response.getMonthlyRewards().isEmpty());
-        assertEquals(2, response.getTransactions().size());
+        assertEquals("Arunkumar", response.customerName());
+        assertTrue(response.totalPoints() > 0);
+        assertFalse(response.monthlyRewards().isEmpty());
+        assertEquals(2, response.transactions().size());
+
+        log.info("testCalculateRewards passed: Total points = {}", response.totalPoints());
+    }
+
+    /**
+     * Test to verify a transaction page returns a cursor when more rows follow.
+     */
+    @Test
+    void testGetTransactionPage() {
+        LocalDate today = LocalDate.now();
+        List<Transaction> txns = Arrays.asList(
+                new Transaction(1, today.minusDays(3), 150.0, 150),
+                new Transaction(2, today.minusDays(2), 90.0, 40),
+                new Transaction(3, today.minusDays(1), 60.0, 10));
+
+        when(customerRepository.existsById(3)).thenReturn(true);
+        when(customerRepository.findTransactionsPage(eq(3), any(), eq(today), isNull(), eq(3)))
+                .thenReturn(txns);
+
+        TransactionPage page = rewardService.getTransactionPage(3, today.minusMonths(1).toString(),
+                today.toString(), 2, null);
+
+        assertEquals(2, page.transactions().size());
+        assertNotNull(page.nextCursor());
+        TransactionCursor cursor = TransactionCursor.decode(page.nextCursor());
+        assertEquals(2, cursor.transactionId());
+        assertEquals(today.minusDays(2), cursor.transactionDate());
+        log.info("testGetTransactionPage passed: next cursor = {}", page.nextCursor());
+    }
 
-        log.info("testCalculateRewards passed: Total points = {}", response.getTotalPoints());
+    /**
+     * Test to verify an out-of-range page size is rejected.
+     */
+    @Test
+    void testGetTransactionPageInvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> rewardService.getTransactionPage(3, null, null, 0, null));
     }
 
 }
\ No newline at end of file